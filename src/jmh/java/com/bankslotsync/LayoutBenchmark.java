@@ -0,0 +1,216 @@
+package com.bankslotsync;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for LayoutParser and Layout mutations on synthetic layouts of 50, 500 and 5,000 slots
+ * in both the built-in and the external (Bank Tag Layouts) format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutBenchmark
+{
+	public enum Format
+	{
+		BUILT_IN,
+		EXTERNAL
+	}
+
+	@Param({"50", "500", "5000"})
+	public int slots;
+
+	@Param({"BUILT_IN", "EXTERNAL"})
+	public Format format;
+
+	private String layoutStr;
+	private LayoutParser.Layout layout;
+	private LayoutParser.Layout reusableLayout;
+	private int[] layoutArray;
+
+	// A variant group whose only member in the layout sits near the end
+	private Set<Integer> variantGroup;
+	private ItemVariantMapping variantMapping;
+	private int variantGroupId;
+	private int lastItemId;
+
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(slots);
+		layoutStr = syntheticLayout(slots, format == Format.EXTERNAL, random);
+		layout = LayoutParser.parseLayout(layoutStr);
+		reusableLayout = new LayoutParser.Layout(false);
+		layoutArray = LayoutParser.parseLayoutArray(layoutStr);
+
+		lastItemId = layout.getItem(layout.maxPosition());
+		variantGroup = new HashSet<>();
+		for (int i = 1; i < 10; i++)
+		{
+			variantGroup.add(40_000 + i);
+		}
+		variantGroup.add(lastItemId);
+
+		variantMapping = new ItemVariantMapping();
+		variantMapping.addVariantGroup(lastItemId, 40_001, 40_002, 40_003);
+		variantGroupId = variantMapping.groupIdOf(lastItemId);
+	}
+
+	/**
+	 * Layout state that is re-parsed before every invocation, for benchmarks that mutate it.
+	 */
+	@State(Scope.Thread)
+	public static class MutableLayout
+	{
+		LayoutParser.Layout layout;
+
+		@Setup(Level.Invocation)
+		public void setup(LayoutBenchmark benchmark)
+		{
+			layout = LayoutParser.parseLayout(benchmark.layoutStr);
+		}
+	}
+
+	@Benchmark
+	public LayoutParser.Layout parseLayout()
+	{
+		return LayoutParser.parseLayout(layoutStr);
+	}
+
+	@Benchmark
+	public LayoutParser.Layout parseLayoutReused()
+	{
+		LayoutParser.parseLayout(layoutStr, reusableLayout);
+		return reusableLayout;
+	}
+
+	@Benchmark
+	public String serialize()
+	{
+		return layout.serialize();
+	}
+
+	@Benchmark
+	public LayoutParser.Layout insertAt(MutableLayout state)
+	{
+		state.layout.insertAt(slots / 2, 45_000);
+		return state.layout;
+	}
+
+	@Benchmark
+	public LayoutParser.Layout insertAtSameRow(MutableLayout state)
+	{
+		state.layout.insertAtSameRow(slots / 2, 45_000);
+		return state.layout;
+	}
+
+	@Benchmark
+	public int findVariantPositionSet()
+	{
+		return layout.findVariantPosition(variantGroup);
+	}
+
+	@Benchmark
+	public int findVariantPositionGroupId()
+	{
+		return layout.findVariantPosition(variantMapping, variantGroupId);
+	}
+
+	@Benchmark
+	public int[] legacyParseLayoutArray()
+	{
+		return LayoutParser.parseLayoutArray(layoutStr);
+	}
+
+	@Benchmark
+	public int legacyFindVariantPosition()
+	{
+		return LayoutParser.findVariantPosition(layoutArray, variantGroup);
+	}
+
+	@Benchmark
+	public boolean legacyContainsItem()
+	{
+		return LayoutParser.containsItem(layoutArray, lastItemId);
+	}
+
+	@Benchmark
+	public int[] legacyReplaceAtPosition()
+	{
+		return LayoutParser.replaceAtPosition(layoutArray, slots / 2, 45_000);
+	}
+
+	@Benchmark
+	public int legacyFindNearestEmptySlot()
+	{
+		return LayoutParser.findNearestEmptySlot(layoutArray, slots / 2);
+	}
+
+	@Benchmark
+	public int[] legacyAppendItem()
+	{
+		return LayoutParser.appendItem(layoutArray, 45_000);
+	}
+
+	/**
+	 * Build a layout string with roughly one empty slot in ten and distinct item IDs.
+	 */
+	static String syntheticLayout(int slots, boolean external, Random random)
+	{
+		StringBuilder sb = new StringBuilder(slots * 8);
+		Set<Integer> used = new HashSet<>();
+		for (int pos = 0; pos < slots; pos++)
+		{
+			boolean empty = pos < slots - 1 && random.nextInt(10) == 0;
+			int itemId = -1;
+			if (!empty)
+			{
+				do
+				{
+					itemId = 1 + random.nextInt(30_000);
+				}
+				while (!used.add(itemId));
+			}
+
+			if (external)
+			{
+				if (empty)
+				{
+					continue;
+				}
+				if (sb.length() > 0)
+				{
+					sb.append(',');
+				}
+				sb.append(itemId).append(':').append(pos);
+			}
+			else
+			{
+				if (pos > 0)
+				{
+					sb.append(',');
+				}
+				sb.append(itemId);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,132 @@
+package com.bankslotsync;
+
+import com.bankslotsync.core.InMemoryItemNameSource;
+import com.bankslotsync.core.InMemoryLayoutStore;
+import com.bankslotsync.core.InMemoryTagStore;
+import com.bankslotsync.core.SyncEngine;
+import com.bankslotsync.core.SyncSettings;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The sync engine on synthetic profiles (see {@link SyntheticProfile}) over a grid of tag tabs,
+ * bank items and deposit size, in both layout formats.
+ *
+ * A deposit swaps that many bank items for another variant, and the next deposit swaps them back,
+ * so the layouts alternate between two states. {@link #tick()} is one game tick of that cycle with
+ * the default tick budget, so work that overruns it shows up as more ticks rather than longer ones;
+ * {@link #depositAndSync()} is a whole deposit, however many ticks it takes, for the total cost.
+ * The jmh task runs the gc profiler, which adds the allocation per operation to the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SyncScalingBenchmark
+{
+	private static final long SEED = 42;
+	private static final SyncSettings DEFAULT_SETTINGS = new SyncSettings()
+	{
+	};
+
+	@Param({"10", "50", "150"})
+	public int tabs;
+
+	@Param({"200", "800", "1400"})
+	public int items;
+
+	@Param({"1", "10", "50"})
+	public int deposit;
+
+	@Param({"BUILT_IN", "EXTERNAL"})
+	public LayoutBenchmark.Format format;
+
+	private SyncEngine engine;
+
+	// The bank before and after the swap, and which one is current
+	private int[][] banks;
+	private int bank = 0;
+	private int tick = 0;
+
+	@Setup
+	public void setup()
+	{
+		ItemVariantMapping variantMapping = new ItemVariantMapping();
+		SyntheticProfile profile = new SyntheticProfile(variantMapping, tabs, items,
+			format == LayoutBenchmark.Format.EXTERNAL, SEED);
+
+		InMemoryLayoutStore layoutStore = new InMemoryLayoutStore();
+		InMemoryTagStore tagStore = new InMemoryTagStore();
+		InMemoryItemNameSource itemNames = new InMemoryItemNameSource();
+		profile.load(layoutStore, tagStore, itemNames);
+
+		engine = new SyncEngine(variantMapping, layoutStore, tagStore, itemNames, message -> { },
+			DEFAULT_SETTINGS, new SyncMetrics(), Runnable::run, Runnable::run);
+		layoutStore.setListener(engine::onLayoutChanged);
+
+		banks = new int[][] {profile.getBankItems(), profile.getSwappedBankItems(deposit)};
+		engine.loadBankBaseline(profile.getBankItems());
+		engine.prefetchItemNames(banks[0], banks[0].length);
+	}
+
+	/**
+	 * One game tick: deposit if the last deposit is fully synced, then sync.
+	 */
+	@Benchmark
+	public int tick()
+	{
+		tick++;
+		if (!engine.hasPendingWork())
+		{
+			deposit();
+		}
+		return engine.runSync(tick, null);
+	}
+
+	/**
+	 * A deposit and every tick until its layouts are written.
+	 */
+	@Benchmark
+	public int depositAndSync()
+	{
+		deposit();
+		int committed = 0;
+		do
+		{
+			tick++;
+			committed += engine.runSync(tick, null);
+		}
+		while (engine.hasPendingWork());
+		return committed;
+	}
+
+	/**
+	 * A game tick where the bank only changed quantities, which is most of them.
+	 */
+	@Benchmark
+	public int idleTick()
+	{
+		tick++;
+		engine.onBankChanged(banks[bank], banks[bank].length, tick);
+		return engine.runSync(tick, null);
+	}
+
+	private void deposit()
+	{
+		bank ^= 1;
+		engine.onBankChanged(banks[bank], banks[bank].length, tick);
+		engine.signalReady();
+	}
+}
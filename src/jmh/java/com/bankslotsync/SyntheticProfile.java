@@ -0,0 +1,191 @@
+package com.bankslotsync;
+
+import com.bankslotsync.core.InMemoryItemNameSource;
+import com.bankslotsync.core.InMemoryLayoutStore;
+import com.bankslotsync.core.InMemoryTagStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A synthetic Bank Tags profile built from the real variant groups: tag tabs with layouts in the
+ * built-in or the external (Bank Tag Layouts) format, item tags and item names, and a bank to sync.
+ *
+ * Half the bank holds one member of a variant group each, with a second member left out to deposit
+ * in its place; the rest is filler items that have no variants. The first tab holds the whole bank
+ * spread out with gaps, like the main tab of a large account, so its layout runs to thousands of
+ * slots. Every item is also in up to two other tabs. The same seed always builds the same profile.
+ */
+final class SyntheticProfile
+{
+	private static final int MAX_FILLER_ITEM_ID = 30_000;
+
+	private final boolean external;
+	private final List<String> tagTabs = new ArrayList<>();
+
+	// Layouts by standardized tag, and the tags of each item as Bank Tags stores them
+	private final Map<String, String> layouts = new LinkedHashMap<>();
+	private final Map<Integer, String> itemTags = new HashMap<>();
+
+	private final int[] bankItems; // Sorted
+	private final int[] variantItems; // Bank items with a variant to swap in
+	private final int[] swapItems; // The variant of each, not in the bank
+
+	SyntheticProfile(ItemVariantMapping variantMapping, int tabs, int items, boolean external, long seed)
+	{
+		this.external = external;
+		Random random = new Random(seed);
+
+		List<Set<Integer>> groups = new ArrayList<>();
+		for (Set<Integer> group : variantMapping.getAllVariantGroups())
+		{
+			if (group.size() >= 2)
+			{
+				groups.add(group);
+			}
+		}
+		Collections.shuffle(groups, random);
+
+		int variantCount = Math.min(items / 2, groups.size());
+		variantItems = new int[variantCount];
+		swapItems = new int[variantCount];
+		Set<Integer> bank = new LinkedHashSet<>();
+		for (int i = 0; i < variantCount; i++)
+		{
+			int[] members = groups.get(i).stream().mapToInt(Integer::intValue).sorted().toArray();
+			variantItems[i] = members[0];
+			swapItems[i] = members[1];
+			bank.add(members[0]);
+		}
+		while (bank.size() < items)
+		{
+			int itemId = 1 + random.nextInt(MAX_FILLER_ITEM_ID);
+			if (!variantMapping.isVariant(itemId))
+			{
+				bank.add(itemId);
+			}
+		}
+		bankItems = bank.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+		List<Integer> bankOrder = new ArrayList<>(bank);
+		Collections.shuffle(bankOrder, random);
+		List<List<Integer>> tabItems = new ArrayList<>(tabs);
+		for (int tab = 0; tab < tabs; tab++)
+		{
+			tagTabs.add("Tab " + tab);
+			tabItems.add(new ArrayList<>());
+		}
+		for (int itemId : bankOrder)
+		{
+			tabItems.get(0).add(itemId);
+			int extraTabs = tabs > 1 ? random.nextInt(3) : 0;
+			for (int i = 0; i < extraTabs; i++)
+			{
+				List<Integer> tabList = tabItems.get(1 + random.nextInt(tabs - 1));
+				if (!tabList.contains(itemId))
+				{
+					tabList.add(itemId);
+				}
+			}
+		}
+
+		for (int tab = 0; tab < tabs; tab++)
+		{
+			String standardizedTag = "tab " + tab;
+			List<Integer> tabList = tabItems.get(tab);
+			// The main tab is left half empty, the others about one slot in eight
+			layouts.put(standardizedTag, layout(tabList, tab == 0 ? 2 : 8, random));
+			for (int itemId : tabList)
+			{
+				itemTags.merge(itemId, standardizedTag, (tags, tag) -> tags + "," + tag);
+			}
+		}
+	}
+
+	/**
+	 * Load the profile into the stores: tag tabs, layouts, item tags, and names for every item the bank
+	 * can hold.
+	 */
+	void load(InMemoryLayoutStore layoutStore, InMemoryTagStore tagStore, InMemoryItemNameSource itemNames)
+	{
+		layoutStore.setTagTabs(tagTabs);
+		String group = external ? InMemoryLayoutStore.EXTERNAL_GROUP : InMemoryLayoutStore.BUILT_IN_GROUP;
+		layouts.forEach((tag, layout) -> layoutStore.setLayout(group, tag, layout));
+		itemTags.forEach(tagStore::loadTags);
+
+		for (int itemId : bankItems)
+		{
+			itemNames.setName(itemId, "Item " + itemId);
+		}
+		for (int itemId : swapItems)
+		{
+			itemNames.setName(itemId, "Item " + itemId);
+		}
+	}
+
+	/**
+	 * Get the sorted item IDs of the bank.
+	 */
+	int[] getBankItems()
+	{
+		return bankItems.clone();
+	}
+
+	/**
+	 * Get the bank with the first count variant items swapped for their other variant.
+	 */
+	int[] getSwappedBankItems(int count)
+	{
+		if (count > variantItems.length)
+		{
+			throw new IllegalArgumentException("Only " + variantItems.length + " variant items to swap");
+		}
+
+		int[] swapped = bankItems.clone();
+		for (int i = 0; i < count; i++)
+		{
+			swapped[Arrays.binarySearch(bankItems, variantItems[i])] = swapItems[i];
+		}
+		return swapped;
+	}
+
+	/**
+	 * Build a layout of the items in order, leaving about one slot in emptyOneIn empty before each.
+	 */
+	private String layout(List<Integer> itemIds, int emptyOneIn, Random random)
+	{
+		StringBuilder sb = new StringBuilder(itemIds.size() * 12);
+		int position = 0;
+		for (int itemId : itemIds)
+		{
+			while (random.nextInt(emptyOneIn) == 0)
+			{
+				if (!external)
+				{
+					appendEntry(sb, "-1");
+				}
+				position++;
+			}
+
+			appendEntry(sb, external ? itemId + ":" + position : Integer.toString(itemId));
+			position++;
+		}
+		return sb.toString();
+	}
+
+	private static void appendEntry(StringBuilder sb, String entry)
+	{
+		if (sb.length() > 0)
+		{
+			sb.append(',');
+		}
+		sb.append(entry);
+	}
+}
@@ -0,0 +1,437 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.ItemVariantMapping;
+import com.bankslotsync.SyncMetrics;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Runs a recorded session through a fresh {@link SyncEngine} on in-memory stores, at full speed.
+ *
+ * The recording is decoded up front so only the engine is measured. Plans are made and committed
+ * inline, so a replay is deterministic: the same recording and plugin version always produce the same
+ * writes, and the write digest of two versions can be compared to spot behaviour changes.
+ *
+ * Usage: {@code SessionReplayer <recording> [runs]}, or {@code ./gradlew replay -Preplay.file=<recording>}.
+ */
+public class SessionReplayer
+{
+	private static final String BANK_TAGS_GROUP = InMemoryLayoutStore.BUILT_IN_GROUP;
+	private static final String LAYOUT_PREFIX = "layout_";
+	private static final String TAG_TABS_KEY = "tagtabs";
+	private static final String ITEM_TAG_PREFIX = "item_";
+
+	private static final SyncSettings DEFAULT_SETTINGS = new SyncSettings()
+	{
+	};
+
+	/**
+	 * One decoded record. Only the fields of its type are set.
+	 */
+	private static class Record
+	{
+		private final int type;
+		private final int tick;
+		private int[] itemIds;
+		private String group;
+		private String key;
+		private String value;
+
+		Record(int type, int tick)
+		{
+			this.type = type;
+			this.tick = tick;
+		}
+	}
+
+	/**
+	 * What one replay did and what it cost.
+	 */
+	public static class Result
+	{
+		private final int records;
+		private final int ticks;
+		private final int layoutWrites;
+		private final int tagWrites;
+		private final int notifications;
+		private final long wallNanos;
+		private final long cpuNanos;
+		private final long allocatedBytes;
+		private final long digest;
+		private final SyncMetrics metrics;
+
+		Result(int records, int ticks, int layoutWrites, int tagWrites, int notifications, long wallNanos,
+			long cpuNanos, long allocatedBytes, long digest, SyncMetrics metrics)
+		{
+			this.records = records;
+			this.ticks = ticks;
+			this.layoutWrites = layoutWrites;
+			this.tagWrites = tagWrites;
+			this.notifications = notifications;
+			this.wallNanos = wallNanos;
+			this.cpuNanos = cpuNanos;
+			this.allocatedBytes = allocatedBytes;
+			this.digest = digest;
+			this.metrics = metrics;
+		}
+
+		public int getRecords()
+		{
+			return records;
+		}
+
+		public int getTicks()
+		{
+			return ticks;
+		}
+
+		public int getLayoutWrites()
+		{
+			return layoutWrites;
+		}
+
+		public int getTagWrites()
+		{
+			return tagWrites;
+		}
+
+		public int getNotifications()
+		{
+			return notifications;
+		}
+
+		public long getWallNanos()
+		{
+			return wallNanos;
+		}
+
+		/**
+		 * Get the CPU time of the replaying thread, or -1 if the JVM can't measure it.
+		 */
+		public long getCpuNanos()
+		{
+			return cpuNanos;
+		}
+
+		/**
+		 * Get the bytes allocated by the replaying thread, or -1 if the JVM can't measure it.
+		 */
+		public long getAllocatedBytes()
+		{
+			return allocatedBytes;
+		}
+
+		/**
+		 * Get a checksum of every layout write, tag write and notification, in order.
+		 */
+		public long getDigest()
+		{
+			return digest;
+		}
+
+		public SyncMetrics getMetrics()
+		{
+			return metrics;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%d records over %d ticks: %d layout writes, %d tag writes, %d notifications; "
+					+ "%.1f ms wall, %.1f ms CPU, %d KB allocated; digest %016x",
+				records, ticks, layoutWrites, tagWrites, notifications, wallNanos / 1e6,
+				cpuNanos / 1e6, allocatedBytes / 1024, digest);
+		}
+	}
+
+	private final ItemVariantMapping variantMapping;
+	private final List<Record> records;
+
+	public SessionReplayer(ItemVariantMapping variantMapping, InputStream in) throws IOException
+	{
+		this.variantMapping = variantMapping;
+		this.records = decode(in);
+	}
+
+	public static SessionReplayer fromFile(ItemVariantMapping variantMapping, File file) throws IOException
+	{
+		try (InputStream in = new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))
+		{
+			return new SessionReplayer(variantMapping, in);
+		}
+	}
+
+	/**
+	 * Decode a recording that is not gzipped, such as the drained bytes of a {@link SessionRecorder}.
+	 */
+	public static SessionReplayer fromBytes(ItemVariantMapping variantMapping, byte[] recording) throws IOException
+	{
+		return new SessionReplayer(variantMapping, new ByteArrayInputStream(recording));
+	}
+
+	/**
+	 * Replay the recording once with a fresh engine and stores.
+	 */
+	public Result replay()
+	{
+		InMemoryLayoutStore layoutStore = new InMemoryLayoutStore();
+		InMemoryItemNameSource itemNames = new InMemoryItemNameSource();
+		InMemoryNotifier notifier = new InMemoryNotifier();
+		CRC32 digest = new CRC32();
+		InMemoryTagStore tagStore = new InMemoryTagStore()
+		{
+			@Override
+			public void setTags(int itemId, String tags)
+			{
+				update(digest, "T|" + itemId + "|" + tags);
+				super.setTags(itemId, tags);
+			}
+
+			@Override
+			public void removeTags(int itemId)
+			{
+				update(digest, "R|" + itemId);
+				super.removeTags(itemId);
+			}
+		};
+		SyncMetrics metrics = new SyncMetrics();
+		SyncEngine engine = new SyncEngine(variantMapping, layoutStore, tagStore, itemNames,
+			message -> {
+				update(digest, "N|" + message);
+				notifier.send(message);
+			},
+			DEFAULT_SETTINGS, metrics, Runnable::run, Runnable::run);
+		layoutStore.setListener((tag, group, layout) -> {
+			update(digest, "L|" + group + "|" + tag + "|" + layout);
+			engine.onLayoutChanged(tag, group, layout);
+		});
+
+		// Names are recorded when first looked up, which can be after the record that needed them
+		for (Record record : records)
+		{
+			if (record.type == SessionRecording.ITEM_NAME)
+			{
+				itemNames.setName(record.itemIds[0], record.value);
+			}
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long cpuStart = threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+		long allocatedStart = getAllocatedBytes();
+		long start = System.nanoTime();
+
+		int[] bankItems = new int[0];
+		String activeTag = null;
+		int ticks = 0;
+		int lastTick = Integer.MIN_VALUE;
+		for (Record record : records)
+		{
+			if (record.tick != lastTick)
+			{
+				lastTick = record.tick;
+				ticks++;
+			}
+
+			switch (record.type)
+			{
+				case SessionRecording.BASELINE:
+					// The engine reuses the baseline array as a buffer
+					engine.loadBankBaseline(record.itemIds.clone());
+					break;
+				case SessionRecording.BANK:
+					bankItems = record.itemIds;
+					engine.onBankChanged(bankItems, bankItems.length, record.tick);
+					break;
+				case SessionRecording.BANK_SAME:
+					engine.onBankChanged(bankItems, bankItems.length, record.tick);
+					break;
+				case SessionRecording.BANK_OPEN:
+					engine.prefetchItemNames(bankItems, bankItems.length);
+					break;
+				case SessionRecording.SIGNAL:
+					engine.signalReady();
+					break;
+				case SessionRecording.ACTIVE_TAG:
+					activeTag = record.value;
+					break;
+				case SessionRecording.SYNC:
+					engine.runSync(record.tick, activeTag);
+					break;
+				case SessionRecording.CONFIG:
+					applyConfig(record, layoutStore, tagStore, engine);
+					break;
+				case SessionRecording.PROFILE_CHANGED:
+					engine.onProfileChanged();
+					break;
+				case SessionRecording.BANK_RESET:
+					engine.resetBank();
+					break;
+			}
+		}
+
+		long wallNanos = System.nanoTime() - start;
+		long cpuNanos = cpuStart >= 0 ? threads.getCurrentThreadCpuTime() - cpuStart : -1;
+		long allocatedBytes = allocatedStart >= 0 ? getAllocatedBytes() - allocatedStart : -1;
+		return new Result(records.size(), ticks, layoutStore.getWrites(), tagStore.getWrites(),
+			notifier.getMessages().size(), wallNanos, cpuNanos, allocatedBytes, digest.getValue(), metrics);
+	}
+
+	/**
+	 * Apply a config change the way the client would, and tell the engine about it.
+	 */
+	private static void applyConfig(Record record, InMemoryLayoutStore layoutStore, InMemoryTagStore tagStore,
+		SyncEngine engine)
+	{
+		if (record.key.startsWith(LAYOUT_PREFIX))
+		{
+			String tag = record.key.substring(LAYOUT_PREFIX.length());
+			layoutStore.setLayout(record.group, tag, record.value);
+			engine.onLayoutChanged(tag, record.group, record.value);
+		}
+		else if (!BANK_TAGS_GROUP.equals(record.group))
+		{
+			return;
+		}
+		else if (TAG_TABS_KEY.equals(record.key))
+		{
+			layoutStore.setTagTabs(record.value == null || record.value.isEmpty()
+				? Collections.emptyList() : Arrays.asList(record.value.split(",")));
+			engine.onTagTabsChanged();
+		}
+		else if (record.key.startsWith(ITEM_TAG_PREFIX))
+		{
+			int itemId = Integer.parseInt(record.key.substring(ITEM_TAG_PREFIX.length()));
+			tagStore.loadTags(itemId, record.value);
+		}
+	}
+
+	private static List<Record> decode(InputStream in) throws IOException
+	{
+		int magic = 0;
+		for (int i = 0; i < 4; i++)
+		{
+			int b = in.read();
+			if (b < 0)
+			{
+				throw new IOException("Not a session recording");
+			}
+			magic = (magic << 8) | b;
+		}
+		if (magic != SessionRecording.MAGIC)
+		{
+			throw new IOException("Not a session recording");
+		}
+		int version = SessionRecording.readVarInt(in);
+		if (version != SessionRecording.VERSION)
+		{
+			throw new IOException("Unsupported session recording version " + version);
+		}
+
+		List<Record> records = new ArrayList<>();
+		int tick = 0;
+		int type;
+		while ((type = SessionRecording.readVarInt(in, true)) >= 0)
+		{
+			if (type == SessionRecording.TICK)
+			{
+				tick += SessionRecording.readVarInt(in);
+				continue;
+			}
+
+			Record record = new Record(type, tick);
+			switch (type)
+			{
+				case SessionRecording.BASELINE:
+				case SessionRecording.BANK:
+					record.itemIds = SessionRecording.readItemIds(in);
+					break;
+				case SessionRecording.ACTIVE_TAG:
+					record.value = SessionRecording.readString(in);
+					break;
+				case SessionRecording.CONFIG:
+					record.group = SessionRecording.readString(in);
+					record.key = SessionRecording.readString(in);
+					record.value = SessionRecording.readString(in);
+					break;
+				case SessionRecording.ITEM_NAME:
+					record.itemIds = new int[]{SessionRecording.readVarInt(in)};
+					record.value = SessionRecording.readString(in);
+					break;
+				case SessionRecording.BANK_SAME:
+				case SessionRecording.BANK_OPEN:
+				case SessionRecording.SIGNAL:
+				case SessionRecording.SYNC:
+				case SessionRecording.PROFILE_CHANGED:
+				case SessionRecording.BANK_RESET:
+					break;
+				default:
+					throw new IOException("Unknown record type " + type);
+			}
+			records.add(record);
+		}
+		return records;
+	}
+
+	private static void update(CRC32 digest, String entry)
+	{
+		digest.update(entry.getBytes(StandardCharsets.UTF_8));
+		digest.update('\n');
+	}
+
+	/**
+	 * Get the bytes allocated by this thread so far, or -1 if the JVM can't tell.
+	 */
+	private static long getAllocatedBytes()
+	{
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+			if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled())
+			{
+				return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: SessionReplayer <recording> [runs]");
+			System.exit(1);
+		}
+
+		SessionReplayer replayer = fromFile(new ItemVariantMapping(), new File(args[0]));
+		int runs = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 5;
+		Result result = null;
+		for (int run = 1; run <= runs; run++)
+		{
+			result = replayer.replay();
+			System.out.println("Run " + run + ": " + result);
+		}
+
+		// The last run is the warmest, so its stage timings are the most representative
+		for (String line : result.getMetrics().format())
+		{
+			System.out.println(line);
+		}
+		System.out.println(TimeUnit.NANOSECONDS.toMicros(result.getWallNanos()) / Math.max(1, result.getTicks())
+			+ " us per tick");
+	}
+}
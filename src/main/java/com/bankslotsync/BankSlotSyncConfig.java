@@ -4,6 +4,8 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 @ConfigGroup(BankSlotSyncConfig.CONFIG_GROUP)
 public interface BankSlotSyncConfig extends Config
@@ -107,4 +109,19 @@ public interface BankSlotSyncConfig extends Config
 		return false;
 	}
 
+	@ConfigItem(
+		keyName = "tickBudget",
+		name = "Sync Time Per Tick",
+		description = "<html>Most time the plugin spends syncing on the client thread each game tick." +
+			"<br><br>Large deposits are spread over several ticks, starting with the open tag tab.</html>",
+		position = 13,
+		section = advancedSection
+	)
+	@Range(min = 1, max = 20)
+	@Units(Units.MILLISECONDS)
+	default int tickBudget()
+	{
+		return 2;
+	}
+
 }
@@ -1,21 +1,38 @@
 package com.bankslotsync;
 
+import com.bankslotsync.core.SessionRecorder;
+import com.bankslotsync.core.SyncEngine;
 import com.google.inject.Provides;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.GZIPOutputStream;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
 import net.runelite.api.InventoryID;
 import net.runelite.api.Item;
 import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
+import net.runelite.api.ScriptID;
+import net.runelite.api.events.CommandExecuted;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.ProfileChanged;
+import net.runelite.client.events.RuneScapeProfileChanged;
 import net.runelite.client.plugins.banktags.BankTagsPlugin;
 import net.runelite.client.plugins.banktags.tabs.TabInterface;
 import net.runelite.client.eventbus.Subscribe;
@@ -25,6 +42,10 @@ import net.runelite.client.plugins.PluginDependency;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.util.Text;
 
+/**
+ * Connects the {@link SyncEngine} to the client: forwards bank, config and tick events to it, and
+ * gives it stores backed by the Bank Tags config. The sync logic itself lives in the engine.
+ */
 @Slf4j
 @PluginDependency(BankTagsPlugin.class)
 @PluginDescriptor(
@@ -34,11 +55,11 @@ import net.runelite.client.util.Text;
 )
 public class BankSlotSyncPlugin extends Plugin
 {
-	private static final String BANK_TAGS_CONFIG_GROUP = "banktags";
-	private static final String BANK_TAG_LAYOUTS_CONFIG_GROUP = "banktaglayouts"; // External plugin
-	private static final String LAYOUT_PREFIX = "layout_";
-	private static final String TAG_TABS_KEY = "tagtabs";
-	private static final String ITEM_TAG_PREFIX = "item_"; // Tags stored per item ID
+	private static final String BANK_BASELINE_KEY = "bankBaseline"; // Last known bank IDs, per RS profile
+	private static final int BANK_BASELINE_SAVE_INTERVAL = 50; // Ticks between baseline writes
+	private static final String METRICS_COMMAND = "bssmetrics"; // ::bssmetrics [dump|reset]
+	private static final String RECORD_COMMAND = "bssrecord"; // ::bssrecord toggles session recording
+	private static final File OUTPUT_DIR = new File(RuneLite.RUNELITE_DIR, "bank-slot-sync");
 
 	@Inject
 	private Client client;
@@ -55,37 +76,66 @@ public class BankSlotSyncPlugin extends Plugin
 	@Inject
 	private TabInterface tabInterface;
 
+	@Inject
+	private ClientThread clientThread;
 
+	@Inject
+	private ScheduledExecutorService executor;
 
 	private final ItemVariantMapping variantMapping = new ItemVariantMapping();
 
-	// Track bank item IDs to detect changes
-	private Set<Integer> previousBankItems = new HashSet<>();
+	// Stage timings and counters, shown by ::bssmetrics
+	private final SyncMetrics metrics = new SyncMetrics();
+
+	// Layout and item_* tag writes, flushed once per tick
+	private ConfigWriteBuffer configWrites;
+
+	private SyncEngine engine;
+
+	// Bank slot item IDs, reused by every bank event
+	private int[] bankItemIds = new int[0];
+
+	// The engine's bank baseline is restored from the RS profile on the first bank event after login
+	private boolean bankBaselineLoaded = false;
+	private int lastBankBaselineSaveTick = 0;
 
-	// Cache item names for charge variant detection
-	private final Map<Integer, String> itemNameCache = new HashMap<>();
+	private boolean syncScheduled = false;
 
-	// Pending items to process (1-tick delay to let Bank Tags finish first)
-	private Set<Integer> pendingNewItems = new HashSet<>();
-	private Set<Integer> pendingAllBankItems = new HashSet<>();
-	private boolean processPending = false;
+	// Session recording started by ::bssrecord, or null. The file is only touched on the executor.
+	private SessionRecorder recorder;
+	private File recordingFile;
+	private OutputStream recordingOut;
+
+	// Set while our own config writes are flushed, so their ConfigChanged events aren't recorded
+	private boolean flushingConfig = false;
 
 	@Override
 	protected void startUp() throws Exception
 	{
 		log.info("Bank Slot Sync started! Tracking {} items across {} variant groups.",
 			variantMapping.getItemCount(), variantMapping.getGroupCount());
+		configWrites = new ConfigWriteBuffer(configManager, metrics);
+		BankTagsConfigStore store = new BankTagsConfigStore(configManager, configWrites);
+		engine = new SyncEngine(variantMapping, store, store, this::lookupItemName, this::sendChatNotification,
+			new ConfigSyncSettings(config), metrics, executor, clientThread::invokeLater);
+		log.debug("Merged variant groups sharing {} item IDs", variantMapping.getOverlappingItemIds().length);
 	}
 
 	@Override
 	protected void shutDown() throws Exception
 	{
-		log.debug("Bank Slot Sync stopped!");
-		previousBankItems.clear();
-		itemNameCache.clear();
-		pendingNewItems.clear();
-		pendingAllBankItems.clear();
-		processPending = false;
+		ItemNameCache itemNameCache = engine.getItemNameCache();
+		log.debug("Bank Slot Sync stopped! Item name cache: {} hits, {} misses",
+			itemNameCache.getHits(), itemNameCache.getMisses());
+		for (String line : metrics.format())
+		{
+			log.debug(line);
+		}
+		stopRecording();
+		saveBankBaseline();
+		flushConfigWrites();
+		engine.reset();
+		bankBaselineLoaded = false;
 	}
 
 	@Subscribe
@@ -102,424 +152,480 @@ public class BankSlotSyncPlugin extends Plugin
 			return;
 		}
 
-		// Get current bank item IDs
-		Set<Integer> currentBankItems = new HashSet<>();
-		for (Item item : bankContainer.getItems())
+		if (!bankBaselineLoaded)
 		{
-			if (item.getId() > 0)
+			bankBaselineLoaded = true;
+			int[] baseline = loadBankBaseline();
+			if (recorder != null)
 			{
-				currentBankItems.add(item.getId());
+				recorder.baseline(client.getTickCount(), baseline);
 			}
+			engine.loadBankBaseline(baseline);
 		}
 
-		// Find newly added items (items in current but not in previous)
-		Set<Integer> newItems = new HashSet<>(currentBankItems);
-		newItems.removeAll(previousBankItems);
-
-		if (!newItems.isEmpty())
+		int count = copyItemIds(bankContainer.getItems());
+		if (recorder != null)
 		{
-			debugLog("New items detected: {}", newItems);
-			pendingNewItems.addAll(newItems);
-			pendingAllBankItems = new HashSet<>(currentBankItems);
-			processPending = true;
+			recorder.bankChanged(client.getTickCount(), bankItemIds, count);
 		}
-
-		// Update previous state for next comparison
-		previousBankItems = currentBankItems;
+		engine.onBankChanged(bankItemIds, count, client.getTickCount());
 	}
 
 	@Subscribe
-	public void onGameTick(GameTick event)
+	public void onWidgetLoaded(WidgetLoaded event)
 	{
-		if (!processPending)
+		if (event.getGroupId() != InterfaceID.BANKMAIN)
 		{
 			return;
 		}
-		processPending = false;
-
-		debugLog("Processing {} pending items", pendingNewItems.size());
-		processNewItems(new HashSet<>(pendingNewItems), pendingAllBankItems);
-		pendingNewItems.clear();
-		pendingAllBankItems.clear();
 
-		// If a bank tag is currently open, refresh the display
-		if (tabInterface.getActiveTag() != null)
+		// Name everything a sync can touch now, so the sync tick never waits on item compositions
+		ItemContainer bankContainer = client.getItemContainer(InventoryID.BANK);
+		int count = bankContainer != null ? copyItemIds(bankContainer.getItems()) : 0;
+		if (recorder != null)
 		{
-			tabInterface.reloadActiveTab();
+			recorder.bankOpened(client.getTickCount());
 		}
+		engine.prefetchItemNames(bankItemIds, count);
 	}
 
-	/**
-	 * Process newly deposited items and sync variants to layouts.
-	 */
-	private void processNewItems(Set<Integer> newItems, Set<Integer> allBankItems)
+	@Subscribe
+	public void onScriptPostFired(ScriptPostFired event)
 	{
-		// Get all tag tabs
-		String[] tagTabs = getTagTabs();
-		if (tagTabs == null || tagTabs.length == 0)
+		// The bank has been rebuilt, so Bank Tags has applied the deposit to its layouts
+		if (event.getScriptId() == ScriptID.BANKMAIN_FINISHBUILDING)
 		{
-			debugLog("No tag tabs found");
-			return;
+			signalSyncReady();
 		}
-		debugLog("Found {} tag tabs", tagTabs.length);
+	}
 
-		for (int newItemId : newItems)
+	@Subscribe
+	public void onCommandExecuted(CommandExecuted event)
+	{
+		if (RECORD_COMMAND.equalsIgnoreCase(event.getCommand()))
 		{
-			// Copy tags from old variant and remove old variant's tags
-			Set<Integer> variantGroup = variantMapping.getVariantGroup(newItemId);
-			if (variantGroup != null)
+			if (recorder == null)
 			{
-				handleVariantTags(newItemId, variantGroup, allBankItems);
+				startRecording();
 			}
-
-			// Check each tag tab's layout
-			for (String tagName : tagTabs)
+			else
 			{
-				if (tagName == null || tagName.isEmpty())
+				stopRecording();
+			}
+			return;
+		}
+
+		if (!METRICS_COMMAND.equalsIgnoreCase(event.getCommand()))
+		{
+			return;
+		}
+
+		String[] args = event.getArguments();
+		String action = args.length > 0 ? args[0] : "";
+		if ("dump".equalsIgnoreCase(action))
+		{
+			File file = new File(OUTPUT_DIR, "metrics-" + System.currentTimeMillis() + ".csv");
+			executor.execute(() -> {
+				try
 				{
-					continue;
+					metrics.dump(file);
+					clientThread.invokeLater(() -> sendCommandMessage("Metrics written to " + file));
 				}
-
-				String layoutStr = getLayoutConfig(tagName);
-				if (layoutStr == null || layoutStr.isEmpty())
+				catch (IOException e)
 				{
-					continue;
+					log.warn("Failed to write metrics to {}", file, e);
+					clientThread.invokeLater(() -> sendCommandMessage("Unable to write metrics: " + e.getMessage()));
 				}
+			});
+		}
+		else if ("reset".equalsIgnoreCase(action))
+		{
+			metrics.reset();
+			sendCommandMessage("Metrics reset");
+		}
+		else
+		{
+			ItemNameCache itemNameCache = engine.getItemNameCache();
+			sendCommandMessage("Item name cache: " + itemNameCache.getHits() + " hits, " + itemNameCache.getMisses() + " misses");
+			for (String line : metrics.format())
+			{
+				sendCommandMessage(line);
+			}
+		}
+	}
 
-				LayoutParser.Layout layout = LayoutParser.parseLayout(layoutStr);
-				debugLog("Tag '{}' has layout with {} items", tagName, layout.size());
-
-				int variantPosition = -1;
-				int existingVariantId = -1;
-				boolean isChargeVariant = false;
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+		{
+			saveBankBaseline();
+		}
+	}
 
-				// First, check hardcoded variant groups (variantGroup already fetched above)
-				if (variantGroup != null)
-				{
-					variantPosition = layout.findVariantPosition(variantGroup);
-					if (variantPosition >= 0)
-					{
-						existingVariantId = layout.getItem(variantPosition);
-						debugLog("New item {} matches hardcoded variant group at pos {}", newItemId, variantPosition);
-					}
-				}
+	@Subscribe
+	public void onRuneScapeProfileChanged(RuneScapeProfileChanged event)
+	{
+		// Different account: its baseline is loaded on the next bank event
+		if (recorder != null)
+		{
+			recorder.bankReset(client.getTickCount());
+		}
+		engine.resetBank();
+		bankBaselineLoaded = false;
+	}
 
-				// If no hardcoded match, try charge-based detection
-				if (variantPosition < 0 && config.detectChargeVariants())
-				{
-					variantPosition = findChargeVariantPositionInLayout(layout, newItemId);
-					if (variantPosition >= 0)
-					{
-						existingVariantId = layout.getItem(variantPosition);
-						isChargeVariant = true;
-						debugLog("New item {} matches charge variant pattern at pos {}", newItemId, variantPosition);
-					}
-				}
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		String group = event.getGroup();
+		if (!BankTagsConfigStore.BANK_TAGS_CONFIG_GROUP.equals(group)
+			&& !BankTagsConfigStore.BANK_TAG_LAYOUTS_CONFIG_GROUP.equals(group))
+		{
+			return;
+		}
 
-				// No variant match found in this layout
-				if (variantPosition < 0)
+		// ConfigChanged can be posted from any thread; the engine is only touched on the client thread
+		String key = event.getKey();
+		boolean ownWrite = flushingConfig;
+		if (key.startsWith(BankTagsConfigStore.LAYOUT_PREFIX) || key.startsWith(BankTagsConfigStore.ITEM_TAG_PREFIX)
+			|| BankTagsConfigStore.TAG_TABS_KEY.equals(key))
+		{
+			String newValue = event.getNewValue();
+			clientThread.invoke(() -> {
+				// The engine's own writes are made again when the recording is replayed
+				if (recorder != null && !ownWrite)
 				{
-					continue;
+					recorder.configChanged(client.getTickCount(), group, key, newValue);
 				}
+			});
+		}
 
-				// Check if the new item is already at the correct position
-				if (existingVariantId == newItemId)
-				{
-					debugLog("Item {} already at correct position {} in tag '{}'", newItemId, variantPosition, tagName);
-					continue;
-				}
+		if (!ownWrite && (key.startsWith(BankTagsConfigStore.LAYOUT_PREFIX) || key.startsWith(BankTagsConfigStore.ITEM_TAG_PREFIX)))
+		{
+			// A Bank Tags write for the deposit has landed; the plugin's own flushed writes are not one
+			clientThread.invoke(this::signalSyncReady);
+		}
 
-				// Check if the existing variant is still in the bank
-				// If it's gone, the user probably swapped it for the new variant
-				if (allBankItems.contains(existingVariantId))
+		if (BankTagsConfigStore.TAG_TABS_KEY.equals(key))
+		{
+			// Tabs were added or removed; rebuild on the next sync
+			clientThread.invoke(() -> engine.onTagTabsChanged());
+		}
+		else if (key.startsWith(BankTagsConfigStore.LAYOUT_PREFIX))
+		{
+			String tag = key.substring(BankTagsConfigStore.LAYOUT_PREFIX.length());
+			String newValue = event.getNewValue();
+			clientThread.invoke(() -> {
+				// A write still buffered for this layout is older than this one, so it is dropped rather
+				// than hiding and then overwriting it, and its items are planned again against this layout
+				boolean dropped = !ownWrite && configWrites.discard(group, key);
+				engine.onLayoutChanged(tag, group, newValue);
+				if (dropped)
 				{
-					debugLog("Existing variant {} still in bank", existingVariantId);
-					if (config.layoutMode() == LayoutMode.ADJACENT
-						|| (config.layoutMode() == LayoutMode.REPLACE && config.adjacentWhenOccupied()))
-					{
-						addVariantAdjacent(tagName, layout, variantPosition, newItemId);
-					}
-					continue;
+					engine.onLayoutWriteDropped(tag);
 				}
+			});
+		}
+		else if (key.startsWith(BankTagsConfigStore.ITEM_TAG_PREFIX) && !ownWrite)
+		{
+			// The item's tags as written elsewhere win over a tag copy still buffered for it
+			clientThread.invoke(() -> configWrites.discard(group, key));
+		}
+	}
 
-				// The old variant is gone - replace it with the new one
-				debugLog("Old variant {} is GONE, syncing {} to position {}", existingVariantId, newItemId, variantPosition);
-				debugLog("Layout BEFORE: {}", layout.serialize());
-				syncVariantToLayout(tagName, layout, variantPosition, newItemId, isChargeVariant);
-				debugLog("Layout AFTER: {}", getLayoutConfig(tagName));
+	@Subscribe
+	public void onProfileChanged(ProfileChanged event)
+	{
+		clientThread.invoke(() -> {
+			if (recorder != null)
+			{
+				recorder.profileChanged(client.getTickCount());
 			}
+			engine.onProfileChanged();
+		});
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		if (engine.isBankBaselineDirty() && client.getTickCount() - lastBankBaselineSaveTick >= BANK_BASELINE_SAVE_INTERVAL)
+		{
+			saveBankBaseline();
+		}
+
+		// Continues budgeted work, and syncs items whose readiness signal never came
+		runSync();
+
+		if (recorder != null)
+		{
+			writeRecording(recorder.drain());
 		}
 	}
 
 	/**
-	 * Sync a variant item to a layout position based on the configured Layout Mode.
-	 * This is called when the OLD variant is no longer in the bank (user swapped it).
+	 * Run a sync as soon as the queued items are ready, instead of waiting for the next tick.
+	 * The sync is deferred with invokeLater since signals can arrive while a sync is writing config.
 	 */
-	private void syncVariantToLayout(String tagName, LayoutParser.Layout layout, int variantPosition, int newItemId, boolean isChargeVariant)
+	private void signalSyncReady()
 	{
-		String itemName = getItemName(newItemId);
-		debugLog("syncVariantToLayout called: tag={}, pos={}, newId={}, layoutMode={}",
-			tagName, variantPosition, newItemId, config.layoutMode());
-
-		// First, remove the new item from any other position in the layout
-		// (in case Bank Tags already added it at the end)
-		int existingPos = layout.findItemPosition(newItemId);
-		debugLog("New item {} current position in layout: {}", newItemId, existingPos);
-		if (existingPos >= 0 && existingPos != variantPosition)
-		{
-			layout.setItem(existingPos, -1); // Remove from old position
-			debugLog("Removed item {} from position {}", newItemId, existingPos);
-		}
-
-		// Use Layout Mode setting to determine placement
-		LayoutMode mode = config.layoutMode();
-		debugLog("Current layoutMode setting: {}", mode);
-
-		switch (mode)
-		{
-			case REPLACE:
-				// Replace: new item takes old item's exact position
-				debugLog("REPLACE mode: setting position {} to item {}", variantPosition, newItemId);
-				layout.setItem(variantPosition, newItemId);
-				log.info("Replaced variant at position {} with {} in tag '{}' layout", variantPosition, itemName, tagName);
-				sendChatNotification("Synced " + itemName + " to '" + tagName + "' (slot " + variantPosition + ")");
-				break;
-
-			case ADJACENT:
-				// Insert next to the variant, shifting only items on the same row
-				int insertPos = variantPosition + 1;
-				debugLog("ADJACENT mode: variantPosition={}, insertPos={}", variantPosition, insertPos);
-				debugLog("Layout BEFORE: {}", layout.getPositionToItem());
-				layout.insertAtSameRow(insertPos, newItemId);
-				debugLog("Layout AFTER: {}", layout.getPositionToItem());
-				log.info("Inserted {} at position {} in tag '{}' layout", itemName, insertPos, tagName);
-				sendChatNotification("Synced " + itemName + " to '" + tagName + "' (slot " + insertPos + ")");
-				break;
-		}
-
-		String serialized = layout.serialize();
-		debugLog("Serialized layout to save: {}", serialized);
-		saveLayoutConfig(tagName, serialized);
+		if (recorder != null)
+		{
+			recorder.signal(client.getTickCount());
+		}
+		if (engine.signalReady() && !syncScheduled)
+		{
+			syncScheduled = true;
+			clientThread.invokeLater(() -> {
+				syncScheduled = false;
+				runSync();
+			});
+		}
 	}
 
 	/**
-	 * Add a new variant next to an existing variant (ADJACENT mode when both items are in bank).
+	 * Let the engine sync, then write its config changes as one batch and refresh the open tag tab.
 	 */
-	private void addVariantAdjacent(String tagName, LayoutParser.Layout layout, int existingPosition, int newItemId)
+	private void runSync()
 	{
-		String itemName = getItemName(newItemId);
-
-		// First, remove the new item from any other position in the layout
-		int existingPos = layout.findItemPosition(newItemId);
-		if (existingPos >= 0)
+		String activeTag = tabInterface.getActiveTag();
+		if (recorder != null)
 		{
-			layout.setItem(existingPos, -1);
-			debugLog("Removed item {} from position {} before placing adjacent", newItemId, existingPos);
+			recorder.sync(client.getTickCount(), activeTag);
 		}
+		// Writing the changes out counts against the same tick budget; writes left over go out next time
+		long deadline = engine.tickDeadline();
+		int committed = engine.runSync(client.getTickCount(), activeTag, deadline);
+		flushConfigWrites(deadline);
 
-		// Insert next to the existing item, shifting only items on the same row
-		int insertPos = existingPosition + 1;
-		layout.insertAtSameRow(insertPos, newItemId);
+		// If a bank tag is currently open, refresh the display
+		if (committed > 0 && activeTag != null)
+		{
+			tabInterface.reloadActiveTab();
+		}
+	}
 
-		log.info("Inserted {} at position {} (adjacent) in tag '{}' layout", itemName, insertPos, tagName);
-		sendChatNotification("Added " + itemName + " to '" + tagName + "' (slot " + insertPos + ")");
+	private void flushConfigWrites()
+	{
+		flushConfigWrites(configWrites::flush);
+	}
 
-		saveLayoutConfig(tagName, layout.serialize());
+	private void flushConfigWrites(long deadline)
+	{
+		flushConfigWrites(() -> configWrites.flush(deadline));
 	}
 
-	/**
-	 * Get the name of an item, using cache when possible.
-	 */
-	private String getItemName(int itemId)
+	private void flushConfigWrites(Runnable flush)
 	{
-		return itemNameCache.computeIfAbsent(itemId, id -> {
-			ItemComposition comp = itemManager.getItemComposition(id);
-			return comp != null ? comp.getName() : null;
-		});
+		flushingConfig = true;
+		try
+		{
+			flush.run();
+		}
+		finally
+		{
+			flushingConfig = false;
+		}
 	}
 
 	/**
-	 * Find a charge variant in the layout by matching item names.
-	 * Returns the position of a matching charge variant, or -1 if none found.
+	 * Start recording the session to a file, beginning with the state the engine reads.
 	 */
-	private int findChargeVariantPositionInLayout(LayoutParser.Layout layout, int newItemId)
+	private void startRecording()
 	{
-		String newItemName = getItemName(newItemId);
-		if (newItemName == null || !ChargeVariantDetector.isChargedItem(newItemName))
+		int tick = client.getTickCount();
+		recorder = new SessionRecorder();
+		recordingFile = new File(OUTPUT_DIR, "session-" + System.currentTimeMillis() + ".bssr");
+
+		// Names are recorded as they are looked up, so start from cold caches as a replay does
+		engine.getItemNameCache().clear();
+		engine.onProfileChanged();
+		if (bankBaselineLoaded)
 		{
-			return -1;
+			recorder.baseline(tick, engine.getBankItems());
 		}
 
-		String newBaseName = ChargeVariantDetector.getNormalizedBaseName(newItemName);
-
-		for (Map.Entry<Integer, Integer> entry : layout.getPositionToItem().entrySet())
+		String group = BankTagsConfigStore.BANK_TAGS_CONFIG_GROUP;
+		String tagTabs = configManager.getConfiguration(group, BankTagsConfigStore.TAG_TABS_KEY);
+		recorder.configChanged(tick, group, BankTagsConfigStore.TAG_TABS_KEY, tagTabs);
+		if (tagTabs != null && !tagTabs.isEmpty())
 		{
-			int layoutItemId = entry.getValue();
-			if (layoutItemId <= 0 || layoutItemId == newItemId)
+			for (String tagName : tagTabs.split(","))
 			{
-				continue;
+				String key = BankTagsConfigStore.LAYOUT_PREFIX + Text.standardize(tagName);
+				recordConfig(tick, group, key);
+				recordConfig(tick, BankTagsConfigStore.BANK_TAG_LAYOUTS_CONFIG_GROUP, key);
 			}
+		}
+		for (String key : configManager.getConfigurationKeys(group + "." + BankTagsConfigStore.ITEM_TAG_PREFIX))
+		{
+			recordConfig(tick, group, key.substring(group.length() + 1));
+		}
 
-			String layoutItemName = getItemName(layoutItemId);
-			if (layoutItemName == null)
+		File file = recordingFile;
+		byte[] state = recorder.drain();
+		executor.execute(() -> {
+			try
 			{
-				continue;
+				OUTPUT_DIR.mkdirs();
+				recordingOut = new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file)));
+				recordingOut.write(state);
 			}
-
-			String layoutBaseName = ChargeVariantDetector.getNormalizedBaseName(layoutItemName);
-			if (newBaseName.equals(layoutBaseName))
+			catch (IOException e)
 			{
-				log.debug("Found charge variant match: {} ({}) -> {} ({})",
-					newItemName, newItemId, layoutItemName, layoutItemId);
-				return entry.getKey();
+				log.warn("Failed to start session recording {}", file, e);
+				recordingOut = null;
 			}
-		}
-
-		return -1;
+		});
+		sendCommandMessage("Recording session to " + file);
 	}
 
-	/**
-	 * Send a notification to the game chat.
-	 */
-	private void sendChatNotification(String message)
+	private void recordConfig(int tick, String group, String key)
 	{
-		if (config.showNotifications() && client.getGameState().getState() >= 30)
+		String value = configManager.getConfiguration(group, key);
+		if (value != null)
 		{
-			client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "[Bank Slot Sync] " + message, null);
+			recorder.configChanged(tick, group, key, value);
 		}
 	}
 
 	/**
-	 * Get all tag tab names.
+	 * Write the rest of the recording and close its file.
 	 */
-	private String[] getTagTabs()
+	private void stopRecording()
 	{
-		String tagTabsStr = configManager.getConfiguration(BANK_TAGS_CONFIG_GROUP, TAG_TABS_KEY);
-		if (tagTabsStr == null || tagTabsStr.isEmpty())
+		if (recorder == null)
 		{
-			return new String[0];
+			return;
 		}
-		return tagTabsStr.split(",");
+
+		File file = recordingFile;
+		int records = recorder.getRecordCount();
+		writeRecording(recorder.drain());
+		executor.execute(() -> {
+			try
+			{
+				if (recordingOut != null)
+				{
+					recordingOut.close();
+				}
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to finish session recording {}", file, e);
+			}
+			recordingOut = null;
+		});
+		recorder = null;
+		recordingFile = null;
+		sendCommandMessage("Recorded " + records + " events to " + file);
 	}
 
-	/**
-	 * Get the tags assigned to an item ID.
-	 */
-	private String getItemTags(int itemId)
+	private void writeRecording(byte[] bytes)
 	{
-		return configManager.getConfiguration(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId);
+		if (bytes.length == 0)
+		{
+			return;
+		}
+
+		executor.execute(() -> {
+			if (recordingOut == null)
+			{
+				return;
+			}
+
+			try
+			{
+				recordingOut.write(bytes);
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to write session recording", e);
+			}
+		});
 	}
 
 	/**
-	 * Set the tags for an item ID.
+	 * Copy the item IDs of bank slots into bankItemIds. Returns the number of slots.
 	 */
-	private void setItemTags(int itemId, String tags)
+	private int copyItemIds(Item[] items)
 	{
-		if (tags != null && !tags.isEmpty())
+		if (bankItemIds.length < items.length)
 		{
-			configManager.setConfiguration(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId, tags);
+			bankItemIds = new int[items.length];
 		}
+		for (int i = 0; i < items.length; i++)
+		{
+			bankItemIds[i] = items[i].getId();
+		}
+		return items.length;
 	}
 
 	/**
-	 * Remove all tags from an item ID.
+	 * Look up an item's name from its composition. Used to fill the engine's item name cache.
 	 */
-	private void removeItemTags(int itemId)
+	private String lookupItemName(int itemId)
 	{
-		configManager.unsetConfiguration(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId);
-		log.info("Removed tags from item {}", itemId);
+		ItemComposition comp = itemManager.getItemComposition(itemId);
+		String name = comp != null ? comp.getName() : null;
+		if (recorder != null)
+		{
+			recorder.itemName(itemId, name);
+		}
+		return name;
 	}
 
 	/**
-	 * Handle tag operations for a variant: copy tags to new item and remove from old.
+	 * Send a notification to the game chat.
 	 */
-	private void handleVariantTags(int newItemId, Set<Integer> variantGroup, Set<Integer> allBankItems)
+	private void sendChatNotification(String message)
 	{
-		// Find a variant that has tags and is no longer in the bank (was replaced)
-		for (int variantId : variantGroup)
+		if (config.showNotifications() && client.getGameState().getState() >= 30)
 		{
-			if (variantId == newItemId)
-			{
-				continue;
-			}
-
-			String oldTags = getItemTags(variantId);
-			if (oldTags != null && !oldTags.isEmpty())
-			{
-				// Check if this variant is gone from bank (user swapped it)
-				if (!allBankItems.contains(variantId))
-				{
-					// Copy tags to new item
-					String existingNewTags = getItemTags(newItemId);
-					if (existingNewTags == null || existingNewTags.isEmpty())
-					{
-						setItemTags(newItemId, oldTags);
-						log.info("Copied tags '{}' from item {} to item {}", oldTags, variantId, newItemId);
-					}
-
-					// Remove tags from old item (if enabled)
-					if (config.removeOldTags())
-					{
-						removeItemTags(variantId);
-						log.info("Removed tags from old variant: {}", variantId);
-					}
-
-					return; // Only process one old variant
-				}
-			}
+			client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "[Bank Slot Sync] " + message, null);
 		}
 	}
 
 	/**
-	 * Get the layout config for a specific tag.
-	 * Checks both built-in Bank Tags and external Bank Tag Layouts plugin.
+	 * Send a chat command's response to the game chat, regardless of the notification setting.
 	 */
-	private String getLayoutConfig(String tagName)
+	private void sendCommandMessage(String message)
 	{
-		// Standardize the tag name to match Bank Tags format (lowercase, trimmed)
-		String standardizedTag = Text.standardize(tagName);
+		client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "[Bank Slot Sync] " + message, null);
+	}
 
-		// First try the external Bank Tag Layouts plugin
-		String layout = configManager.getConfiguration(BANK_TAG_LAYOUTS_CONFIG_GROUP, LAYOUT_PREFIX + standardizedTag);
-		if (layout != null && !layout.isEmpty())
+	/**
+	 * Restore the last known bank item IDs for the current RS profile.
+	 */
+	private int[] loadBankBaseline()
+	{
+		int[] baseline = BankSnapshot.decode(
+			configManager.getRSProfileConfiguration(BankSlotSyncConfig.CONFIG_GROUP, BANK_BASELINE_KEY));
+		if (baseline == null)
 		{
-			debugLog("Layout for '{}' (external plugin): {} chars", tagName, layout.length());
-			return layout;
+			log.debug("No bank baseline stored, first bank open will treat every item as new");
+			return new int[0];
 		}
-
-		// Fall back to built-in Bank Tags
-		layout = configManager.getConfiguration(BANK_TAGS_CONFIG_GROUP, LAYOUT_PREFIX + standardizedTag);
-		debugLog("Layout for '{}' (built-in): {} chars", tagName, layout != null ? layout.length() : 0);
-		return layout;
+		log.debug("Restored bank baseline with {} items", baseline.length);
+		return baseline;
 	}
 
 	/**
-	 * Save the layout config for a specific tag.
-	 * Saves to whichever config group has the existing layout.
+	 * Persist the current bank item IDs for the current RS profile, if they changed since the last save.
 	 */
-	private void saveLayoutConfig(String tagName, String layoutStr)
+	private void saveBankBaseline()
 	{
-		// Standardize the tag name to match Bank Tags format
-		String standardizedTag = Text.standardize(tagName);
-		debugLog("saveLayoutConfig: tag='{}' standardized='{}' length={}", tagName, standardizedTag, layoutStr.length());
-
-		// Check which config group has the layout
-		String externalLayout = configManager.getConfiguration(BANK_TAG_LAYOUTS_CONFIG_GROUP, LAYOUT_PREFIX + standardizedTag);
-		if (externalLayout != null && !externalLayout.isEmpty())
-		{
-			configManager.setConfiguration(BANK_TAG_LAYOUTS_CONFIG_GROUP, LAYOUT_PREFIX + standardizedTag, layoutStr);
-			debugLog("SAVED to external: {}", LAYOUT_PREFIX + standardizedTag);
-		}
-		else
+		if (!engine.isBankBaselineDirty() || !bankBaselineLoaded)
 		{
-			configManager.setConfiguration(BANK_TAGS_CONFIG_GROUP, LAYOUT_PREFIX + standardizedTag, layoutStr);
-			debugLog("SAVED to built-in: {}", LAYOUT_PREFIX + standardizedTag);
+			return;
 		}
-	}
 
-	private void debugLog(String message, Object... args)
-	{
-		log.debug(message, args);
+		int[] bankItems = engine.getBankItems();
+		configManager.setRSProfileConfiguration(BankSlotSyncConfig.CONFIG_GROUP, BANK_BASELINE_KEY,
+			BankSnapshot.encode(bankItems, bankItems.length));
+		engine.bankBaselineSaved();
+		lastBankBaselineSaveTick = client.getTickCount();
+		log.debug("Saved bank baseline with {} items", bankItems.length);
 	}
 
 	@Provides
@@ -0,0 +1,183 @@
+package com.bankslotsync;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Bank item ID snapshots: diffing, and the compact form persisted per RS profile so the
+ * first bank open after login only reports items that really changed.
+ *
+ * A snapshot is a sorted, distinct int[] of item IDs plus its length, so the caller can reuse
+ * its buffers and diff two snapshots with a single merge pass without boxing.
+ *
+ * A bank's fingerprint is the sum of {@link #fingerprint(int)} over its item IDs plus their count.
+ * It can be taken straight from the container in bank order, and if it is unchanged the item IDs
+ * are, barring a 64-bit collision, the same, so the diff can be skipped.
+ *
+ * Encoded form (Base64): a version byte, the ID count as a varint, then each ID as the
+ * varint delta from the previous one in ascending order. An 800 item bank is about 1 KB.
+ */
+public final class BankSnapshot
+{
+	private static final int FORMAT_VERSION = 1;
+
+	private BankSnapshot()
+	{
+	}
+
+	/**
+	 * Get an item ID's contribution to a bank fingerprint.
+	 * Summing these (rather than XOR) keeps duplicate IDs such as bank fillers from cancelling out.
+	 */
+	public static long fingerprint(int itemId)
+	{
+		// SplitMix64 finalizer
+		long z = itemId * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Sort the first length IDs in place, dropping duplicates and IDs that are not positive.
+	 * Returns the number of IDs left at the front of the array.
+	 */
+	public static int sortDistinct(int[] ids, int length)
+	{
+		Arrays.sort(ids, 0, length);
+		int size = 0;
+		for (int i = 0; i < length; i++)
+		{
+			int id = ids[i];
+			if (id > 0 && (size == 0 || ids[size - 1] != id))
+			{
+				ids[size++] = id;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Find the IDs in current that are not in previous, both sorted and distinct.
+	 * They are written in ascending order to added, which must have room for currentLength
+	 * IDs, or only counted if added is null. Returns the number of IDs found.
+	 */
+	public static int findAdded(int[] current, int currentLength, int[] previous, int previousLength, int[] added)
+	{
+		int count = 0;
+		int j = 0;
+		for (int i = 0; i < currentLength; i++)
+		{
+			int id = current[i];
+			while (j < previousLength && previous[j] < id)
+			{
+				j++;
+			}
+
+			if (j == previousLength || previous[j] != id)
+			{
+				if (added != null)
+				{
+					added[count] = id;
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Check if a sorted snapshot contains an item ID.
+	 */
+	public static boolean contains(int[] ids, int length, int itemId)
+	{
+		return Arrays.binarySearch(ids, 0, length, itemId) >= 0;
+	}
+
+	/**
+	 * Encode the first length IDs of a sorted, distinct snapshot for persistence.
+	 */
+	public static String encode(int[] ids, int length)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(length + 8);
+		out.write(FORMAT_VERSION);
+		writeVarInt(out, length);
+		int previous = 0;
+		for (int i = 0; i < length; i++)
+		{
+			writeVarInt(out, ids[i] - previous);
+			previous = ids[i];
+		}
+		return Base64.getEncoder().encodeToString(out.toByteArray());
+	}
+
+	/**
+	 * Decode item IDs written by {@link #encode(int[], int)} into a sorted, distinct array.
+	 * Returns null if the value is missing or not a snapshot this version understands.
+	 */
+	public static int[] decode(String encoded)
+	{
+		if (encoded == null || encoded.isEmpty())
+		{
+			return null;
+		}
+
+		try
+		{
+			ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+			if (in.get() != FORMAT_VERSION)
+			{
+				return null;
+			}
+
+			int count = readVarInt(in);
+			if (count < 0 || count > in.remaining())
+			{
+				return null;
+			}
+
+			int[] itemIds = new int[count];
+			int id = 0;
+			for (int i = 0; i < count; i++)
+			{
+				id += readVarInt(in);
+				itemIds[i] = id;
+			}
+
+			int size = sortDistinct(itemIds, count);
+			return size == count ? itemIds : Arrays.copyOf(itemIds, size);
+		}
+		catch (IllegalArgumentException | BufferUnderflowException e)
+		{
+			return null;
+		}
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(ByteBuffer in)
+	{
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7)
+		{
+			int b = in.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+}
@@ -0,0 +1,132 @@
+package com.bankslotsync;
+
+import com.bankslotsync.core.LayoutStore;
+import com.bankslotsync.core.TagStore;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.util.Text;
+
+/**
+ * Layouts and item tags stored in the Bank Tags config, and layouts stored by the external Bank Tag
+ * Layouts plugin. Reads and writes go through a {@link ConfigWriteBuffer}, which the plugin flushes.
+ */
+@Slf4j
+public class BankTagsConfigStore implements LayoutStore, TagStore
+{
+	static final String BANK_TAGS_CONFIG_GROUP = "banktags";
+	static final String BANK_TAG_LAYOUTS_CONFIG_GROUP = "banktaglayouts"; // External plugin
+	static final String LAYOUT_PREFIX = "layout_";
+	static final String TAG_TABS_KEY = "tagtabs";
+	static final String ITEM_TAG_PREFIX = "item_"; // Tags stored per item ID
+
+	private final ConfigManager configManager;
+	private final ConfigWriteBuffer configWrites;
+
+	public BankTagsConfigStore(ConfigManager configManager, ConfigWriteBuffer configWrites)
+	{
+		this.configManager = configManager;
+		this.configWrites = configWrites;
+	}
+
+	@Override
+	public List<String> getTagTabs()
+	{
+		String tagTabsStr = configManager.getConfiguration(BANK_TAGS_CONFIG_GROUP, TAG_TABS_KEY);
+		if (tagTabsStr == null || tagTabsStr.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+		return Arrays.asList(tagTabsStr.split(","));
+	}
+
+	/**
+	 * Standardize a tag name to match Bank Tags format (lowercase, trimmed).
+	 */
+	@Override
+	public String standardizeTag(String tagName)
+	{
+		return Text.standardize(tagName);
+	}
+
+	/**
+	 * Read a tag's layout, checking the external Bank Tag Layouts plugin before built-in Bank Tags.
+	 */
+	@Override
+	public LayoutSource load(String standardizedTag)
+	{
+		SyncEvents.LayoutRead event = new SyncEvents.LayoutRead();
+		event.begin();
+		String configKey = LAYOUT_PREFIX + standardizedTag;
+		String group = BANK_TAG_LAYOUTS_CONFIG_GROUP;
+
+		// First try the external Bank Tag Layouts plugin
+		String layout = configWrites.get(BANK_TAG_LAYOUTS_CONFIG_GROUP, configKey);
+		if (layout != null && !layout.isEmpty())
+		{
+			log.debug("Layout for '{}' (external plugin): {} chars", standardizedTag, layout.length());
+		}
+		else
+		{
+			// Fall back to built-in Bank Tags
+			group = BANK_TAGS_CONFIG_GROUP;
+			layout = configWrites.get(BANK_TAGS_CONFIG_GROUP, configKey);
+			log.debug("Layout for '{}' (built-in): {} chars", standardizedTag, layout != null ? layout.length() : 0);
+		}
+
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.tag = standardizedTag;
+			event.group = group;
+			event.bytes = layout != null ? layout.length() : 0;
+			event.commit();
+		}
+		return new LayoutSource(standardizedTag, configKey, group, layout);
+	}
+
+	/**
+	 * Queue a layout write to the config group the layout was read from.
+	 * Unchanged layouts are not written.
+	 */
+	@Override
+	public void save(LayoutSource source, String layout)
+	{
+		SyncEvents.LayoutWrite event = new SyncEvents.LayoutWrite();
+		event.begin();
+		log.debug("saveLayoutConfig: tag='{}' group={} length={}", source.getStandardizedTag(), source.getGroup(), layout.length());
+		configWrites.set(source.getGroup(), source.getConfigKey(), layout);
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.tag = source.getStandardizedTag();
+			event.group = source.getGroup();
+			event.bytes = layout.length();
+			event.commit();
+		}
+	}
+
+	@Override
+	public String getTags(int itemId)
+	{
+		return configWrites.get(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId);
+	}
+
+	@Override
+	public void setTags(int itemId, String tags)
+	{
+		if (tags != null && !tags.isEmpty())
+		{
+			configWrites.set(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId, tags);
+		}
+	}
+
+	@Override
+	public void removeTags(int itemId)
+	{
+		configWrites.unset(BANK_TAGS_CONFIG_GROUP, ITEM_TAG_PREFIX + itemId);
+		log.info("Removed tags from item {}", itemId);
+	}
+}
@@ -0,0 +1,105 @@
+package com.bankslotsync;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index from normalized base name (see {@link ChargeVariantDetector#getNormalizedBaseName}) to the
+ * layout item IDs sharing it, so finding an item's charge variants is a hash probe instead of running
+ * the name patterns against every slot of every layout.
+ *
+ * Item names can only be resolved on the client thread, so items are queued with {@link #add(int)}
+ * and named in {@link #resolvePending} before the index is queried. Client thread only; nothing here
+ * is synchronized.
+ */
+@Slf4j
+public class ChargeFamilyIndex
+{
+	private final Map<String, Set<Integer>> itemsByBaseName = new HashMap<>();
+
+	// Items already resolved into itemsByBaseName
+	private final Set<Integer> indexedItems = new HashSet<>();
+
+	private final Set<Integer> pendingItems = new HashSet<>();
+
+	/**
+	 * Drop the index; items have to be added again.
+	 */
+	public void clear()
+	{
+		itemsByBaseName.clear();
+		indexedItems.clear();
+		pendingItems.clear();
+	}
+
+	/**
+	 * Queue an item to be indexed on the next {@link #resolvePending} call.
+	 */
+	public void add(int itemId)
+	{
+		if (itemId > 0 && !indexedItems.contains(itemId))
+		{
+			pendingItems.add(itemId);
+		}
+	}
+
+	/**
+	 * Index every queued item under its normalized base name. Must run on the client thread.
+	 */
+	public void resolvePending(IntFunction<String> baseNames)
+	{
+		if (pendingItems.isEmpty())
+		{
+			return;
+		}
+
+		for (int itemId : pendingItems)
+		{
+			String baseName = baseNames.apply(itemId);
+			if (baseName != null)
+			{
+				itemsByBaseName.computeIfAbsent(baseName, k -> new HashSet<>()).add(itemId);
+			}
+			indexedItems.add(itemId);
+		}
+		log.debug("Charge family index: resolved {} items, {} families", pendingItems.size(), itemsByBaseName.size());
+		pendingItems.clear();
+	}
+
+	/**
+	 * Get the indexed item IDs with the given normalized base name.
+	 */
+	public Set<Integer> getFamily(String normalizedBaseName)
+	{
+		Set<Integer> family = normalizedBaseName != null ? itemsByBaseName.get(normalizedBaseName) : null;
+		return family != null ? Collections.unmodifiableSet(family) : Collections.emptySet();
+	}
+
+	/**
+	 * Find the lowest position in the layout holding a member of the family, other than the excluded item.
+	 * Returns -1 if none is found.
+	 */
+	public static int findPosition(LayoutParser.Layout layout, Set<Integer> family, int excludeItemId)
+	{
+		int best = -1;
+		for (int itemId : family)
+		{
+			if (itemId == excludeItemId)
+			{
+				continue;
+			}
+
+			int pos = layout.findItemPosition(itemId);
+			if (pos >= 0 && (best < 0 || pos < best))
+			{
+				best = pos;
+			}
+		}
+		return best;
+	}
+}
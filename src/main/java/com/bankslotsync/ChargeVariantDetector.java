@@ -1,7 +1,5 @@
 package com.bankslotsync;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,22 +11,18 @@ import lombok.extern.slf4j.Slf4j;
  * - Ring of dueling(8), Ring of dueling(1), etc.
  * - Crystal bow (new), Crystal bow, Crystal bow (i), etc.
  * - Barrows items: Ahrim's robetop 100, Ahrim's robetop 75, etc.
+ *
+ * Suffixes are recognized by a single backward scan from the end of the name, and names are
+ * compared in place, so only {@link #extractBaseName} and {@link #getNormalizedBaseName} allocate.
  */
 @Slf4j
 public class ChargeVariantDetector
 {
-	// Pattern for items with charges in parentheses: "Item name(X)" where X is a number
-	// Also matches items with (i) for imbued, which should be kept as part of base name
-	private static final Pattern CHARGE_PATTERN = Pattern.compile("^(.+?)\\((\\d+)\\)$");
+	// Barrows degradation suffixes: "Item name X"
+	private static final String[] DEGRADATION_SUFFIXES = {"0", "25", "50", "75", "100"};
 
-	// Pattern for Barrows degradation: "Item name X" where X is 0, 25, 50, 75, or 100
-	private static final Pattern BARROWS_PATTERN = Pattern.compile("^(.+?)\\s+(0|25|50|75|100)$");
-
-	// Pattern for crystal equipment states: "Crystal X (new)" or "Crystal X (i)"
-	private static final Pattern CRYSTAL_STATE_PATTERN = Pattern.compile("^(.+?)\\s+\\((new|inactive)\\)$");
-
-	// Pattern for items ending with a number charge without parentheses (some special cases)
-	private static final Pattern SUFFIX_NUMBER_PATTERN = Pattern.compile("^(.+?)\\s+(\\d+)$");
+	// Crystal equipment states: "Crystal X (new)"
+	private static final String[] STATE_SUFFIXES = {"(new)", "(inactive)"};
 
 	/**
 	 * Extract the base name from an item, removing charge/degradation indicators.
@@ -45,28 +39,14 @@ public class ChargeVariantDetector
 			return null;
 		}
 
-		// Try charge pattern first: "Item name(X)"
-		Matcher chargeMatcher = CHARGE_PATTERN.matcher(itemName);
-		if (chargeMatcher.matches())
-		{
-			return chargeMatcher.group(1).trim();
-		}
-
-		// Try Barrows pattern: "Item name X" where X is degradation percentage
-		Matcher barrowsMatcher = BARROWS_PATTERN.matcher(itemName);
-		if (barrowsMatcher.matches())
-		{
-			return barrowsMatcher.group(1).trim();
-		}
-
-		// Try crystal state pattern: "Item (new)" or "Item (inactive)"
-		Matcher crystalMatcher = CRYSTAL_STATE_PATTERN.matcher(itemName);
-		if (crystalMatcher.matches())
+		int suffixStart = findSuffixStart(itemName);
+		if (suffixStart < 0)
 		{
-			return crystalMatcher.group(1).trim();
+			return null;
 		}
 
-		return null;
+		int end = trimEnd(itemName, suffixStart);
+		return itemName.substring(trimStart(itemName, end), end);
 	}
 
 	/**
@@ -89,41 +69,22 @@ public class ChargeVariantDetector
 			return false;
 		}
 
-		String base1 = extractBaseName(name1);
-		String base2 = extractBaseName(name2);
+		int suffix1 = findSuffixStart(name1);
+		int suffix2 = findSuffixStart(name2);
 
-		// If neither has a charge pattern, check if one is the base of the other
-		if (base1 == null && base2 == null)
+		// If neither has a charge pattern, they aren't charge variants
+		if (suffix1 < 0 && suffix2 < 0)
 		{
 			return false;
 		}
 
-		// If one has a base name and it matches the other's full name or base name
-		if (base1 != null && base2 != null)
-		{
-			return base1.equalsIgnoreCase(base2);
-		}
-
-		// One is charged, one might be the uncharged base
-		if (base1 != null)
-		{
-			return base1.equalsIgnoreCase(name2) || base1.equalsIgnoreCase(extractBaseOrSelf(name2));
-		}
-		if (base2 != null)
-		{
-			return base2.equalsIgnoreCase(name1) || base2.equalsIgnoreCase(extractBaseOrSelf(name1));
-		}
-
-		return false;
-	}
-
-	/**
-	 * Extract base name or return the original name if no pattern matches.
-	 */
-	private static String extractBaseOrSelf(String itemName)
-	{
-		String base = extractBaseName(itemName);
-		return base != null ? base : itemName;
+		// Compare base names, or a base name against the other's full name if only one is charged
+		int end1 = suffix1 >= 0 ? trimEnd(name1, suffix1) : name1.length();
+		int start1 = suffix1 >= 0 ? trimStart(name1, end1) : 0;
+		int end2 = suffix2 >= 0 ? trimEnd(name2, suffix2) : name2.length();
+		int start2 = suffix2 >= 0 ? trimStart(name2, end2) : 0;
+		return end1 - start1 == end2 - start2
+			&& name1.regionMatches(true, start1, name2, start2, end1 - start1);
 	}
 
 	/**
@@ -158,6 +119,107 @@ public class ChargeVariantDetector
 	 */
 	public static boolean isChargedItem(String itemName)
 	{
-		return extractBaseName(itemName) != null;
+		return itemName != null && findSuffixStart(itemName) >= 0;
+	}
+
+	/**
+	 * Find where the charge suffix starts, scanning back from the end of the name.
+	 * The base name is everything before it, trimmed. Returns -1 if the name has no charge,
+	 * degradation or crystal state suffix, or nothing in front of it.
+	 */
+	private static int findSuffixStart(String name)
+	{
+		int length = name.length();
+		if (length < 2)
+		{
+			return -1;
+		}
+
+		char last = name.charAt(length - 1);
+		if (last == ')')
+		{
+			// "Item name(X)"
+			int i = length - 2;
+			while (i >= 0 && isDigit(name.charAt(i)))
+			{
+				i--;
+			}
+			if (i < length - 2)
+			{
+				return i >= 1 && name.charAt(i) == '(' ? i : -1;
+			}
+
+			// "Item (new)" or "Item (inactive)"
+			for (String suffix : STATE_SUFFIXES)
+			{
+				int separator = length - suffix.length() - 1;
+				if (separator >= 1 && name.endsWith(suffix) && isWhitespace(name.charAt(separator)))
+				{
+					return separator;
+				}
+			}
+			return -1;
+		}
+
+		if (isDigit(last))
+		{
+			// "Item name X" where X is a degradation percentage
+			int i = length - 2;
+			while (i >= 0 && isDigit(name.charAt(i)))
+			{
+				i--;
+			}
+			if (i < 1 || !isWhitespace(name.charAt(i)))
+			{
+				return -1;
+			}
+
+			int digits = length - i - 1;
+			for (String suffix : DEGRADATION_SUFFIXES)
+			{
+				if (suffix.length() == digits && name.regionMatches(i + 1, suffix, 0, digits))
+				{
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Get the end of name[0, end) with trailing whitespace removed, as {@link String#trim()} would.
+	 */
+	private static int trimEnd(String name, int end)
+	{
+		while (end > 0 && name.charAt(end - 1) <= ' ')
+		{
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * Get the start of name[0, end) with leading whitespace removed, as {@link String#trim()} would.
+	 */
+	private static int trimStart(String name, int end)
+	{
+		int start = 0;
+		while (start < end && name.charAt(start) <= ' ')
+		{
+			start++;
+		}
+		return start;
+	}
+
+	private static boolean isDigit(char c)
+	{
+		return c >= '0' && c <= '9';
+	}
+
+	// Matches the regex \s class
+	private static boolean isWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
 	}
 }
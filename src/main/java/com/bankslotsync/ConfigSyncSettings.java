@@ -0,0 +1,46 @@
+package com.bankslotsync;
+
+import com.bankslotsync.core.SyncSettings;
+
+/**
+ * {@link SyncSettings} read from the plugin config.
+ */
+public class ConfigSyncSettings implements SyncSettings
+{
+	private final BankSlotSyncConfig config;
+
+	public ConfigSyncSettings(BankSlotSyncConfig config)
+	{
+		this.config = config;
+	}
+
+	@Override
+	public LayoutMode layoutMode()
+	{
+		return config.layoutMode();
+	}
+
+	@Override
+	public boolean adjacentWhenOccupied()
+	{
+		return config.adjacentWhenOccupied();
+	}
+
+	@Override
+	public boolean detectChargeVariants()
+	{
+		return config.detectChargeVariants();
+	}
+
+	@Override
+	public boolean removeOldTags()
+	{
+		return config.removeOldTags();
+	}
+
+	@Override
+	public int tickBudget()
+	{
+		return config.tickBudget();
+	}
+}
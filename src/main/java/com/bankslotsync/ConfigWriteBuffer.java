@@ -0,0 +1,198 @@
+package com.bankslotsync;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+/**
+ * Write-behind buffer for the bank tag layout and item_* tag config keys.
+ *
+ * Writes are held until {@link #flush()}, later writes to the same key replace earlier ones, and
+ * reads see pending writes, so a tick can rewrite a key several times and still produce at most
+ * one config write (and one ConfigChanged and profile sync) per key. Writes that would leave the
+ * stored value unchanged are dropped. A flush can stop at a deadline and leave the rest for the next;
+ * a key written by anything else in the meantime must be {@link #discard discarded}, so the older
+ * pending value neither hides nor overwrites it.
+ */
+@Slf4j
+public class ConfigWriteBuffer
+{
+	private static class PendingWrite
+	{
+		private final String group;
+		private final String key;
+		private String value; // null to unset
+
+		PendingWrite(String group, String key)
+		{
+			this.group = group;
+			this.key = key;
+		}
+	}
+
+	/**
+	 * The config the buffer reads from and writes to.
+	 */
+	public interface Config
+	{
+		String get(String group, String key);
+
+		void set(String group, String key, String value);
+
+		void unset(String group, String key);
+	}
+
+	private final Config config;
+
+	// Keyed by group + "." + key, in first-write order
+	private final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+
+	private final SyncMetrics metrics;
+
+	public ConfigWriteBuffer(ConfigManager configManager, SyncMetrics metrics)
+	{
+		this(new Config()
+		{
+			@Override
+			public String get(String group, String key)
+			{
+				return configManager.getConfiguration(group, key);
+			}
+
+			@Override
+			public void set(String group, String key, String value)
+			{
+				configManager.setConfiguration(group, key, value);
+			}
+
+			@Override
+			public void unset(String group, String key)
+			{
+				configManager.unsetConfiguration(group, key);
+			}
+		}, metrics);
+	}
+
+	public ConfigWriteBuffer(Config config, SyncMetrics metrics)
+	{
+		this.config = config;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Get a config value, including any pending write to it.
+	 */
+	public String get(String group, String key)
+	{
+		PendingWrite write = pending.get(group + "." + key);
+		return write != null ? write.value : config.get(group, key);
+	}
+
+	/**
+	 * Queue a config write, or drop it if the key already has this value.
+	 */
+	public void set(String group, String key, String value)
+	{
+		if (Objects.equals(get(group, key), value))
+		{
+			metrics.increment(SyncMetrics.Counter.WRITES_SKIPPED);
+			return;
+		}
+
+		pending.computeIfAbsent(group + "." + key, k -> new PendingWrite(group, key)).value = value;
+	}
+
+	/**
+	 * Queue removal of a config key.
+	 */
+	public void unset(String group, String key)
+	{
+		set(group, key, null);
+	}
+
+	/**
+	 * Write every pending value that differs from the stored one.
+	 */
+	public void flush()
+	{
+		flush(false, 0);
+	}
+
+	/**
+	 * Write pending values in the order they were first written until the deadline passes, leaving the
+	 * rest pending. At least one is written, so a flush always moves on.
+	 *
+	 * @param deadlineNanos {@link System#nanoTime()} value after which no more writes are started
+	 */
+	public void flush(long deadlineNanos)
+	{
+		flush(true, deadlineNanos);
+	}
+
+	private void flush(boolean budgeted, long deadlineNanos)
+	{
+		if (pending.isEmpty())
+		{
+			return;
+		}
+
+		long start = System.nanoTime();
+		int written = 0;
+		Iterator<PendingWrite> it = pending.values().iterator();
+		while (it.hasNext())
+		{
+			if (budgeted && written > 0 && System.nanoTime() - deadlineNanos >= 0)
+			{
+				break;
+			}
+
+			PendingWrite write = it.next();
+			it.remove();
+
+			// A key can be changed back to its stored value within the same tick
+			if (Objects.equals(config.get(write.group, write.key), write.value))
+			{
+				metrics.increment(SyncMetrics.Counter.WRITES_SKIPPED);
+				continue;
+			}
+
+			if (write.value == null)
+			{
+				config.unset(write.group, write.key);
+			}
+			else
+			{
+				config.set(write.group, write.key, write.value);
+			}
+			written++;
+		}
+		metrics.add(SyncMetrics.Counter.WRITES_FLUSHED, written);
+		metrics.recordSince(SyncMetrics.Stage.CONFIG_WRITE, start);
+		log.debug("Flushed {} config writes, {} left ({} skipped unchanged in total)", written, pending.size(),
+			metrics.get(SyncMetrics.Counter.WRITES_SKIPPED));
+	}
+
+	/**
+	 * Drop the pending write to a key, because something else wrote it since. Returns true if there was one.
+	 */
+	public boolean discard(String group, String key)
+	{
+		return pending.remove(group + "." + key) != null;
+	}
+
+	/**
+	 * Drop pending writes without applying them.
+	 */
+	public void clear()
+	{
+		pending.clear();
+	}
+
+	public boolean hasPendingWrites()
+	{
+		return !pending.isEmpty();
+	}
+}
@@ -0,0 +1,154 @@
+package com.bankslotsync;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Item display names and their normalized charge base names (see
+ * {@link ChargeVariantDetector#getNormalizedBaseName}), held in arrays indexed by item ID.
+ *
+ * The arrays grow on demand up to {@link #MAX_CACHED_ITEM_ID}, so memory is bounded by the item
+ * ID range rather than by how many lookups are made. IDs above it are looked up every time.
+ * Items without a name are cached too, so unknown IDs only go to the client once.
+ * Lookups go through the client, so this must only be used on the client thread.
+ */
+public class ItemNameCache
+{
+	static final int MAX_CACHED_ITEM_ID = 65535;
+
+	private static final int INITIAL_CAPACITY = 32768;
+
+	// Cached for items without a name, compared by identity
+	private static final String NO_NAME = new String();
+
+	private final IntFunction<String> nameLookup;
+
+	private String[] names = new String[0];
+	private String[] baseNames = new String[0];
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * @param nameLookup resolves an item ID to its display name, or null if it has none
+	 */
+	public ItemNameCache(IntFunction<String> nameLookup)
+	{
+		this.nameLookup = nameLookup;
+	}
+
+	/**
+	 * Get the display name of an item, or null if it has none.
+	 */
+	public String getName(int itemId)
+	{
+		if (!isCacheable(itemId))
+		{
+			misses++;
+			return nameLookup.apply(itemId);
+		}
+
+		if (itemId >= names.length || names[itemId] == null)
+		{
+			misses++;
+			load(itemId);
+		}
+		else
+		{
+			hits++;
+		}
+		return nameOrNull(names[itemId]);
+	}
+
+	/**
+	 * Get the normalized base name of an item, or null if it has no name.
+	 */
+	public String getBaseName(int itemId)
+	{
+		if (!isCacheable(itemId))
+		{
+			misses++;
+			return ChargeVariantDetector.getNormalizedBaseName(nameLookup.apply(itemId));
+		}
+
+		if (itemId >= baseNames.length || baseNames[itemId] == null)
+		{
+			misses++;
+			load(itemId);
+		}
+		else
+		{
+			hits++;
+		}
+		return nameOrNull(baseNames[itemId]);
+	}
+
+	/**
+	 * Load an item's names ahead of time so later lookups are hits.
+	 */
+	public void prefetch(int itemId)
+	{
+		if (isCacheable(itemId) && (itemId >= names.length || names[itemId] == null))
+		{
+			load(itemId);
+		}
+	}
+
+	/**
+	 * Load the names of every item ahead of time.
+	 */
+	public void prefetch(Iterable<Integer> itemIds)
+	{
+		for (int itemId : itemIds)
+		{
+			prefetch(itemId);
+		}
+	}
+
+	public void clear()
+	{
+		names = new String[0];
+		baseNames = new String[0];
+		hits = 0;
+		misses = 0;
+	}
+
+	public long getHits()
+	{
+		return hits;
+	}
+
+	public long getMisses()
+	{
+		return misses;
+	}
+
+	private void load(int itemId)
+	{
+		String name = nameLookup.apply(itemId);
+		if (itemId >= names.length)
+		{
+			int capacity = Math.max(INITIAL_CAPACITY, names.length);
+			while (capacity <= itemId)
+			{
+				capacity *= 2;
+			}
+			capacity = Math.min(capacity, MAX_CACHED_ITEM_ID + 1);
+			names = Arrays.copyOf(names, capacity);
+			baseNames = Arrays.copyOf(baseNames, capacity);
+		}
+
+		names[itemId] = name != null ? name : NO_NAME;
+		baseNames[itemId] = name != null ? ChargeVariantDetector.getNormalizedBaseName(name) : NO_NAME;
+	}
+
+	private static String nameOrNull(String name)
+	{
+		return name != NO_NAME ? name : null;
+	}
+
+	private static boolean isCacheable(int itemId)
+	{
+		return itemId > 0 && itemId <= MAX_CACHED_ITEM_ID;
+	}
+}
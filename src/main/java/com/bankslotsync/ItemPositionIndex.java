@@ -0,0 +1,128 @@
+package com.bankslotsync;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing itemId -> position map used as the reverse index of a layout.
+ * Keys must be positive item IDs; lookups and updates never box.
+ */
+final class ItemPositionIndex
+{
+	static final int NOT_FOUND = -1;
+
+	private static final int EMPTY_KEY = 0;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	ItemPositionIndex()
+	{
+		keys = new int[16];
+		values = new int[16];
+	}
+
+	int get(int itemId)
+	{
+		int mask = keys.length - 1;
+		for (int i = mix(itemId) & mask; ; i = (i + 1) & mask)
+		{
+			int key = keys[i];
+			if (key == itemId)
+			{
+				return values[i];
+			}
+			if (key == EMPTY_KEY)
+			{
+				return NOT_FOUND;
+			}
+		}
+	}
+
+	void put(int itemId, int position)
+	{
+		if ((size + 1) * 2 > keys.length)
+		{
+			resize(keys.length * 2);
+		}
+
+		int mask = keys.length - 1;
+		int i = mix(itemId) & mask;
+		while (keys[i] != EMPTY_KEY && keys[i] != itemId)
+		{
+			i = (i + 1) & mask;
+		}
+
+		if (keys[i] == EMPTY_KEY)
+		{
+			keys[i] = itemId;
+			size++;
+		}
+		values[i] = position;
+	}
+
+	void remove(int itemId)
+	{
+		int mask = keys.length - 1;
+		int i = mix(itemId) & mask;
+		while (keys[i] != itemId)
+		{
+			if (keys[i] == EMPTY_KEY)
+			{
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+
+		// Backward-shift deletion keeps probe chains intact without tombstones
+		int gap = i;
+		for (int j = (gap + 1) & mask; keys[j] != EMPTY_KEY; j = (j + 1) & mask)
+		{
+			int home = mix(keys[j]) & mask;
+			if (((j - home) & mask) >= ((j - gap) & mask))
+			{
+				keys[gap] = keys[j];
+				values[gap] = values[j];
+				gap = j;
+			}
+		}
+		keys[gap] = EMPTY_KEY;
+		size--;
+	}
+
+	void clear()
+	{
+		if (size > 0)
+		{
+			Arrays.fill(keys, EMPTY_KEY);
+			size = 0;
+		}
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	private void resize(int capacity)
+	{
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[capacity];
+		values = new int[capacity];
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != EMPTY_KEY)
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private static int mix(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,222 @@
+package com.bankslotsync;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index from item ID to the (tag, position) slots that hold it.
+ *
+ * Tags are keyed by their standardized name, the same form used in the layout_* config keys.
+ * The index is built lazily from every tag's layout, one tag at a time so the build can be spread
+ * over several ticks, and then kept current one tag at a time as layout config changes arrive. The
+ * sync engine uses it to find which layouts hold the charge variants of an untagged charged item.
+ */
+@Slf4j
+public class LayoutIndex
+{
+	/**
+	 * One occupied layout slot.
+	 */
+	public static class Entry
+	{
+		private final String tag;
+		private final int position;
+		private final int itemId;
+
+		Entry(String tag, int position, int itemId)
+		{
+			this.tag = tag;
+			this.position = position;
+			this.itemId = itemId;
+		}
+
+		public String getTag()
+		{
+			return tag;
+		}
+
+		public int getPosition()
+		{
+			return position;
+		}
+
+		public int getItemId()
+		{
+			return itemId;
+		}
+	}
+
+	// Entries of each tag, so a tag can be dropped when its layout changes
+	private final Map<String, List<Entry>> entriesByTag = new HashMap<>();
+
+	private final Map<Integer, List<Entry>> entriesByItem = new HashMap<>();
+
+	// Tags of the rebuild in progress that are still to be indexed
+	private final Set<String> unindexedTags = new LinkedHashSet<>();
+
+	private boolean building = false;
+	private boolean built = false;
+
+	// Reused for every layout parsed into the index
+	private final LayoutParser.Layout scratchLayout = new LayoutParser.Layout(false);
+
+	/**
+	 * Check if the index has been built since it was last invalidated.
+	 */
+	public boolean isBuilt()
+	{
+		return built;
+	}
+
+	/**
+	 * Check if a rebuild has been started and still has tags to index.
+	 */
+	public boolean isBuilding()
+	{
+		return building;
+	}
+
+	/**
+	 * Drop everything, including a rebuild in progress; the next {@link #startRebuild} starts from scratch.
+	 */
+	public void invalidate()
+	{
+		entriesByTag.clear();
+		entriesByItem.clear();
+		unindexedTags.clear();
+		building = false;
+		built = false;
+	}
+
+	/**
+	 * Start rebuilding the index from the layouts of the given standardized tag names, which are then
+	 * indexed one at a time by {@link #indexNext}.
+	 */
+	public void startRebuild(Collection<String> tags)
+	{
+		invalidate();
+		unindexedTags.addAll(tags);
+		building = true;
+		finishRebuildIfDone();
+	}
+
+	/**
+	 * Index the next tag of the rebuild in progress.
+	 * Returns the tag, or null if there is no rebuild in progress.
+	 */
+	public String indexNext(Function<String, String> layoutLoader)
+	{
+		Iterator<String> it = unindexedTags.iterator();
+		if (!it.hasNext())
+		{
+			return null;
+		}
+
+		String tag = it.next();
+		it.remove();
+		addTag(tag, layoutLoader.apply(tag));
+		finishRebuildIfDone();
+		return tag;
+	}
+
+	/**
+	 * Re-index a single tag after its layout changed. An empty or null layout removes the tag.
+	 * A tag the rebuild in progress has yet to index is left for it to read.
+	 */
+	public void updateTag(String tag, String layoutStr)
+	{
+		if (!built && (!building || unindexedTags.contains(tag)))
+		{
+			return;
+		}
+
+		removeTag(tag);
+		addTag(tag, layoutStr);
+	}
+
+	/**
+	 * Remove all entries of a tag.
+	 */
+	public void removeTag(String tag)
+	{
+		List<Entry> entries = entriesByTag.remove(tag);
+		if (entries == null)
+		{
+			return;
+		}
+
+		for (Entry entry : entries)
+		{
+			List<Entry> itemEntries = entriesByItem.get(entry.itemId);
+			if (itemEntries != null)
+			{
+				itemEntries.remove(entry);
+				if (itemEntries.isEmpty())
+				{
+					entriesByItem.remove(entry.itemId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the slots holding this item ID.
+	 */
+	public List<Entry> getEntriesForItem(int itemId)
+	{
+		List<Entry> entries = entriesByItem.get(itemId);
+		return entries != null ? Collections.unmodifiableList(entries) : Collections.emptyList();
+	}
+
+	/**
+	 * Get the slots of one tag's layout.
+	 */
+	public List<Entry> getEntriesForTag(String tag)
+	{
+		List<Entry> entries = entriesByTag.get(tag);
+		return entries != null ? Collections.unmodifiableList(entries) : Collections.emptyList();
+	}
+
+	private void finishRebuildIfDone()
+	{
+		if (building && unindexedTags.isEmpty())
+		{
+			building = false;
+			built = true;
+			log.debug("Layout index built: {} tags, {} distinct items", entriesByTag.size(), entriesByItem.size());
+		}
+	}
+
+	private void addTag(String tag, String layoutStr)
+	{
+		if (layoutStr == null || layoutStr.isEmpty())
+		{
+			return;
+		}
+
+		LayoutParser.parseLayout(layoutStr, scratchLayout);
+		List<Entry> entries = new ArrayList<>(scratchLayout.size());
+		for (int pos = 0; pos <= scratchLayout.maxPosition(); pos++)
+		{
+			int itemId = scratchLayout.getItem(pos);
+			if (itemId <= 0)
+			{
+				continue;
+			}
+
+			Entry entry = new Entry(tag, pos, itemId);
+			entries.add(entry);
+			entriesByItem.computeIfAbsent(entry.itemId, k -> new ArrayList<>()).add(entry);
+		}
+		entriesByTag.put(tag, entries);
+	}
+}
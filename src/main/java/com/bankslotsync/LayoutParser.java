@@ -1,7 +1,8 @@
 package com.bankslotsync;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,51 +20,111 @@ public class LayoutParser
 {
 	private static final int EMPTY_SLOT = -1;
 
+	/**
+	 * Highest position a layout may use. Slots are stored densely, so larger positions
+	 * (only seen in corrupt configs) are rejected instead of allocating a huge array.
+	 */
+	public static final int MAX_POSITION = 65535;
+
+	// Returned by parseInt for anything Integer.parseInt would reject
+	private static final long INVALID_NUMBER = Long.MIN_VALUE;
+
 	/**
 	 * Represents a parsed layout with position -> itemId mapping.
+	 *
+	 * Slots are stored in an int[] indexed by position and grown on demand, with a reverse
+	 * itemId -> position index so item lookups do not scan the layout. When an item occupies
+	 * more than one slot, lookups return its lowest position.
 	 */
 	public static class Layout
 	{
-		private final Map<Integer, Integer> positionToItem = new HashMap<>();
-		private final boolean isExternalFormat;
+		private int[] slots = new int[0];
+		private int size;
+		private int maxPos = -1;
+
+		private final ItemPositionIndex itemPositions = new ItemPositionIndex();
+
+		// Set once any item occupies two slots; removals then have to look for the other copy
+		private boolean hasDuplicates;
+
+		private boolean isExternalFormat;
 
 		public Layout(boolean isExternalFormat)
 		{
 			this.isExternalFormat = isExternalFormat;
 		}
 
+		/**
+		 * Remove every item so the layout can be reused for another parse.
+		 */
+		public void reset(boolean isExternalFormat)
+		{
+			Arrays.fill(slots, 0, maxPos + 1, EMPTY_SLOT);
+			itemPositions.clear();
+			size = 0;
+			maxPos = -1;
+			hasDuplicates = false;
+			this.isExternalFormat = isExternalFormat;
+		}
+
 		public void setItem(int position, int itemId)
 		{
+			if (position < 0 || position > MAX_POSITION)
+			{
+				return;
+			}
+
+			int oldItem = getItem(position);
+			if (oldItem == itemId || (oldItem <= 0 && itemId <= 0))
+			{
+				return;
+			}
+
+			if (oldItem > 0)
+			{
+				slots[position] = EMPTY_SLOT;
+				size--;
+				unindex(oldItem, position);
+			}
+
 			if (itemId > 0)
 			{
-				positionToItem.put(position, itemId);
+				ensureCapacity(position + 1);
+				slots[position] = itemId;
+				size++;
+				index(itemId, position);
+				maxPos = Math.max(maxPos, position);
 			}
-			else
+			else if (position == maxPos)
 			{
-				positionToItem.remove(position);
+				while (maxPos >= 0 && slots[maxPos] <= 0)
+				{
+					maxPos--;
+				}
 			}
 		}
 
 		public int getItem(int position)
 		{
-			return positionToItem.getOrDefault(position, EMPTY_SLOT);
+			return position >= 0 && position <= maxPos ? slots[position] : EMPTY_SLOT;
 		}
 
 		public boolean containsItem(int itemId)
 		{
-			return positionToItem.containsValue(itemId);
+			return itemId > 0 && itemPositions.get(itemId) != ItemPositionIndex.NOT_FOUND;
 		}
 
 		public int findItemPosition(int itemId)
 		{
-			for (Map.Entry<Integer, Integer> entry : positionToItem.entrySet())
-			{
-				if (entry.getValue() == itemId)
-				{
-					return entry.getKey();
-				}
-			}
-			return -1;
+			return itemId > 0 ? itemPositions.get(itemId) : -1;
+		}
+
+		/**
+		 * Get the highest occupied position, or -1 if the layout is empty.
+		 */
+		public int maxPosition()
+		{
+			return maxPos;
 		}
 
 		/**
@@ -71,55 +132,76 @@ public class LayoutParser
 		 */
 		public void insertAt(int position, int itemId)
 		{
-			// Find the max position to know how far to shift
-			int maxPos = positionToItem.keySet().stream().max(Integer::compare).orElse(-1);
+			if (position < 0 || position > MAX_POSITION || maxPos >= MAX_POSITION)
+			{
+				return;
+			}
+
+			log.debug("insertAt called: position={}, itemId={}, maxPos={}", position, itemId, maxPos);
+
+			if (position <= maxPos)
+			{
+				ensureCapacity(maxPos + 2);
+				System.arraycopy(slots, position, slots, position + 1, maxPos - position + 1);
+				slots[position] = EMPTY_SLOT;
+				maxPos++;
+				rebuildIndex();
+			}
 
-			log.debug("insertAt called: position={}, itemId={}, maxPos={}, before={}",
-				position, itemId, maxPos, positionToItem);
+			setItem(position, itemId);
+		}
 
-			// Shift all items from maxPos down to position, moving each one position higher
-			// We iterate from high to low so we don't overwrite values we need to read
-			for (int i = maxPos; i >= position; i--)
+		public int findVariantPosition(Set<Integer> variantGroup)
+		{
+			if (variantGroup.size() > size)
 			{
-				int item = positionToItem.getOrDefault(i, EMPTY_SLOT);
-				if (item > 0)
+				for (int pos = 0; pos <= maxPos; pos++)
 				{
-					positionToItem.put(i + 1, item);
-					// Only remove from old position if it's not the target position
-					// (target position will be overwritten by the new item)
-					if (i != position)
+					if (slots[pos] > 0 && variantGroup.contains(slots[pos]))
 					{
-						positionToItem.remove(i);
+						return pos;
 					}
 				}
+				return -1;
 			}
 
-			// Now insert the new item at the target position
-			positionToItem.put(position, itemId);
-
-			log.debug("insertAt result: after={}", positionToItem);
+			int best = -1;
+			for (int itemId : variantGroup)
+			{
+				int pos = findItemPosition(itemId);
+				if (pos >= 0 && (best < 0 || pos < best))
+				{
+					best = pos;
+				}
+			}
+			return best;
 		}
 
-		public int findVariantPosition(Set<Integer> variantGroup)
+		/**
+		 * Find the lowest position holding any member of a variant group, without boxing.
+		 */
+		public int findVariantPosition(ItemVariantMapping variantMapping, int groupId)
 		{
-			for (Map.Entry<Integer, Integer> entry : positionToItem.entrySet())
+			int best = -1;
+			for (int i = 0, n = variantMapping.groupSize(groupId); i < n; i++)
 			{
-				if (variantGroup.contains(entry.getValue()))
+				int pos = findItemPosition(variantMapping.getMember(groupId, i));
+				if (pos >= 0 && (best < 0 || pos < best))
 				{
-					return entry.getKey();
+					best = pos;
 				}
 			}
-			return -1;
+			return best;
 		}
 
 		public List<Integer> findAllVariantPositions(Set<Integer> variantGroup)
 		{
 			List<Integer> positions = new ArrayList<>();
-			for (Map.Entry<Integer, Integer> entry : positionToItem.entrySet())
+			for (int pos = 0; pos <= maxPos; pos++)
 			{
-				if (variantGroup.contains(entry.getValue()))
+				if (slots[pos] > 0 && variantGroup.contains(slots[pos]))
 				{
-					positions.add(entry.getKey());
+					positions.add(pos);
 				}
 			}
 			return positions;
@@ -130,14 +212,26 @@ public class LayoutParser
 			return isExternalFormat;
 		}
 
+		/**
+		 * Get a snapshot of the occupied slots as position -> itemId, in position order.
+		 * Changes to the returned map do not affect the layout.
+		 */
 		public Map<Integer, Integer> getPositionToItem()
 		{
+			Map<Integer, Integer> positionToItem = new LinkedHashMap<>();
+			for (int pos = 0; pos <= maxPos; pos++)
+			{
+				if (slots[pos] > 0)
+				{
+					positionToItem.put(pos, slots[pos]);
+				}
+			}
 			return positionToItem;
 		}
 
 		public int size()
 		{
-			return positionToItem.size();
+			return size;
 		}
 
 		/**
@@ -151,58 +245,45 @@ public class LayoutParser
 			int row = position / ROW_WIDTH;
 			int rowStart = row * ROW_WIDTH;
 			int rowEnd = rowStart + ROW_WIDTH - 1;
+			if (position < 0 || rowEnd > MAX_POSITION)
+			{
+				return;
+			}
 
 			log.debug("insertAtSameRow: position={}, row={}, rowStart={}, rowEnd={}",
 				position, row, rowStart, rowEnd);
 
 			// Check if position+1 is empty - if so, just place there
-			if (!positionToItem.containsKey(position) || positionToItem.get(position) <= 0)
+			if (getItem(position) <= 0)
 			{
-				positionToItem.put(position, itemId);
+				setItem(position, itemId);
 				log.debug("Position {} was empty, placed item directly", position);
 				return;
 			}
 
 			// Need to shift items on this row only
 			// First, check if there's an item at the end of the row that will be displaced
-			int displacedItem = -1;
-			if (positionToItem.containsKey(rowEnd) && positionToItem.get(rowEnd) > 0)
+			int displacedItem = getItem(rowEnd);
+			if (displacedItem > 0)
 			{
-				displacedItem = positionToItem.get(rowEnd);
 				log.debug("Item {} at row end (pos {}) will be displaced", displacedItem, rowEnd);
 			}
 
-			// Shift items from rowEnd down to position (within the same row only)
-			for (int i = rowEnd; i > position; i--)
-			{
-				int prevPos = i - 1;
-				if (prevPos >= position)
-				{
-					int item = positionToItem.getOrDefault(prevPos, EMPTY_SLOT);
-					if (item > 0)
-					{
-						positionToItem.put(i, item);
-						positionToItem.remove(prevPos);
-					}
-					else
-					{
-						positionToItem.remove(i);
-					}
-				}
-			}
+			// Shift items from position to rowEnd - 1 one slot right (within the same row only)
+			ensureCapacity(rowEnd + 1);
+			System.arraycopy(slots, position, slots, position + 1, rowEnd - position);
 
 			// Place the new item at the target position
-			positionToItem.put(position, itemId);
+			slots[position] = itemId;
+			maxPos = Math.max(maxPos, rowEnd);
+			rebuildIndex();
 
 			// If an item was displaced from the end of the row, append it to the layout
 			if (displacedItem > 0)
 			{
-				int maxPos = positionToItem.keySet().stream().max(Integer::compare).orElse(0);
-				positionToItem.put(maxPos + 1, displacedItem);
-				log.debug("Displaced item {} moved to position {}", displacedItem, maxPos + 1);
+				setItem(maxPos + 1, displacedItem);
+				log.debug("Displaced item {} moved to position {}", displacedItem, maxPos);
 			}
-
-			log.debug("insertAtSameRow result: {}", positionToItem);
 		}
 
 		/**
@@ -210,44 +291,113 @@ public class LayoutParser
 		 */
 		public String serialize()
 		{
-			if (positionToItem.isEmpty())
+			if (size == 0)
 			{
 				return "";
 			}
 
-			StringBuilder sb = new StringBuilder();
+			StringBuilder sb = new StringBuilder(size * 8);
 
 			if (isExternalFormat)
 			{
-				// External format: "position:itemId,position:itemId,..."
-				boolean first = true;
-				for (Map.Entry<Integer, Integer> entry : positionToItem.entrySet())
+				// External format: "itemId:position,itemId:position,..." in position order
+				for (int pos = 0; pos <= maxPos; pos++)
 				{
-					if (!first)
+					if (slots[pos] <= 0)
+					{
+						continue;
+					}
+					if (sb.length() > 0)
 					{
 						sb.append(',');
 					}
-					// Format is itemId:position (based on the wiki source showing "integerIntegerEntry.getValue() + ":" + integerIntegerEntry.getKey()")
-					sb.append(entry.getValue()).append(':').append(entry.getKey());
-					first = false;
+					sb.append(slots[pos]).append(':').append(pos);
 				}
 			}
 			else
 			{
 				// Built-in format: "itemId,itemId,itemId,..."
-				int maxPos = positionToItem.keySet().stream().max(Integer::compare).orElse(-1);
-				for (int i = 0; i <= maxPos; i++)
+				for (int pos = 0; pos <= maxPos; pos++)
 				{
-					if (i > 0)
+					if (pos > 0)
 					{
 						sb.append(',');
 					}
-					sb.append(positionToItem.getOrDefault(i, EMPTY_SLOT));
+					sb.append(slots[pos] > 0 ? slots[pos] : EMPTY_SLOT);
 				}
 			}
 
 			return sb.toString();
 		}
+
+		private void ensureCapacity(int capacity)
+		{
+			if (slots.length < capacity)
+			{
+				int oldLength = slots.length;
+				slots = Arrays.copyOf(slots, Math.max(capacity, Math.max(16, oldLength * 2)));
+				Arrays.fill(slots, oldLength, slots.length, EMPTY_SLOT);
+			}
+		}
+
+		private void index(int itemId, int position)
+		{
+			int existing = itemPositions.get(itemId);
+			if (existing == ItemPositionIndex.NOT_FOUND)
+			{
+				itemPositions.put(itemId, position);
+				return;
+			}
+
+			hasDuplicates = true;
+			if (position < existing)
+			{
+				itemPositions.put(itemId, position);
+			}
+		}
+
+		private void unindex(int itemId, int position)
+		{
+			if (itemPositions.get(itemId) != position)
+			{
+				return;
+			}
+
+			if (hasDuplicates)
+			{
+				for (int pos = position + 1; pos <= maxPos; pos++)
+				{
+					if (slots[pos] == itemId)
+					{
+						itemPositions.put(itemId, pos);
+						return;
+					}
+				}
+			}
+			itemPositions.remove(itemId);
+		}
+
+		/**
+		 * Recompute size, maxPos and the reverse index after slots were moved in bulk.
+		 */
+		private void rebuildIndex()
+		{
+			itemPositions.clear();
+			hasDuplicates = false;
+			size = 0;
+			for (int pos = 0; pos <= maxPos; pos++)
+			{
+				if (slots[pos] > 0)
+				{
+					size++;
+					index(slots[pos], pos);
+				}
+			}
+			while (maxPos >= 0 && slots[maxPos] <= 0)
+			{
+				maxPos--;
+			}
+		}
 	}
 
 	/**
@@ -255,7 +405,7 @@ public class LayoutParser
 	 */
 	public static boolean isExternalFormat(String layoutStr)
 	{
-		return layoutStr != null && layoutStr.contains(":");
+		return layoutStr != null && indexOf(layoutStr, ':', 0, layoutStr.length()) >= 0;
 	}
 
 	/**
@@ -263,58 +413,194 @@ public class LayoutParser
 	 */
 	public static Layout parseLayout(String layoutStr)
 	{
-		if (layoutStr == null || layoutStr.isEmpty())
+		Layout layout = new Layout(false);
+		parseLayout(layoutStr, layout);
+		return layout;
+	}
+
+	/**
+	 * Parse a layout into an existing Layout object, replacing its contents.
+	 * The input is walked once and numbers are decoded in place, so no intermediate strings are created.
+	 * Malformed entries are skipped.
+	 *
+	 * @return the number of malformed entries
+	 */
+	public static int parseLayout(CharSequence layoutStr, Layout layout)
+	{
+		SyncEvents.LayoutParse event = new SyncEvents.LayoutParse();
+		event.begin();
+
+		int length = layoutStr != null ? layoutStr.length() : 0;
+		boolean external = length > 0 && indexOf(layoutStr, ':', 0, length) >= 0;
+		layout.reset(external);
+
+		int malformed = 0;
+		int index = 0;
+		int start = 0;
+		while (start < length)
+		{
+			int end = indexOf(layoutStr, ',', start, length);
+			if (end < 0)
+			{
+				end = length;
+			}
+
+			if (!parseEntry(layoutStr, start, end, index, external, layout))
+			{
+				malformed++;
+			}
+
+			index++;
+			start = end + 1;
+		}
+
+		if (malformed > 0)
+		{
+			log.warn("Skipped {} invalid layout entries", malformed);
+		}
+		log.debug("Parsed layout ({} format): {} items", external ? "external" : "built-in", layout.size());
+
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.bytes = length;
+			event.layoutSize = layout.size();
+			event.externalFormat = external;
+			event.malformed = malformed;
+			event.commit();
+		}
+		return malformed;
+	}
+
+	/**
+	 * Parse one comma-separated entry. Returns false if the entry is malformed.
+	 */
+	private static boolean parseEntry(CharSequence s, int start, int end, int index, boolean external, Layout layout)
+	{
+		start = skipWhitespace(s, start, end);
+		end = trimWhitespace(s, start, end);
+		if (start == end)
+		{
+			return true;
+		}
+
+		if (!external)
+		{
+			// Built-in format: array index is position
+			long itemId = parseInt(s, start, end);
+			if (itemId == INVALID_NUMBER)
+			{
+				return false;
+			}
+			if (index > MAX_POSITION)
+			{
+				return false;
+			}
+			if (itemId > 0)
+			{
+				layout.setItem(index, (int) itemId);
+			}
+			return true;
+		}
+
+		// External format: "itemId:position". Trailing colons are ignored, as String.split would.
+		while (end > start && s.charAt(end - 1) == ':')
 		{
-			return new Layout(false);
+			end--;
 		}
 
-		boolean external = isExternalFormat(layoutStr);
-		Layout layout = new Layout(external);
+		int colon = indexOf(s, ':', start, end);
+		if (colon < 0 || indexOf(s, ':', colon + 1, end) >= 0)
+		{
+			// Not a pair; ignored like any other unrecognised entry
+			return true;
+		}
+
+		long itemId = parseInt(s, start, trimWhitespace(s, start, colon));
+		long position = parseInt(s, skipWhitespace(s, colon + 1, end), trimWhitespace(s, colon + 1, end));
+		if (itemId == INVALID_NUMBER || position == INVALID_NUMBER)
+		{
+			return false;
+		}
+		if (position > MAX_POSITION)
+		{
+			return false;
+		}
+		if (position >= 0 && itemId > 0)
+		{
+			layout.setItem((int) position, (int) itemId);
+		}
+		return true;
+	}
 
-		String[] parts = layoutStr.split(",");
+	/**
+	 * Decode a signed decimal int from s[start, end) without allocating.
+	 */
+	private static long parseInt(CharSequence s, int start, int end)
+	{
+		if (start >= end)
+		{
+			return INVALID_NUMBER;
+		}
 
-		for (int i = 0; i < parts.length; i++)
+		boolean negative = false;
+		char first = s.charAt(start);
+		if (first == '-' || first == '+')
 		{
-			String part = parts[i].trim();
-			if (part.isEmpty())
+			negative = first == '-';
+			if (++start == end)
 			{
-				continue;
+				return INVALID_NUMBER;
 			}
+		}
 
-			try
+		long value = 0;
+		for (int i = start; i < end; i++)
+		{
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9)
 			{
-				if (external)
-				{
-					// External format: "itemId:position"
-					String[] pair = part.split(":");
-					if (pair.length == 2)
-					{
-						int itemId = Integer.parseInt(pair[0].trim());
-						int position = Integer.parseInt(pair[1].trim());
-						if (position >= 0 && itemId > 0)
-						{
-							layout.setItem(position, itemId);
-						}
-					}
-				}
-				else
-				{
-					// Built-in format: array index is position
-					int itemId = Integer.parseInt(part);
-					if (itemId > 0)
-					{
-						layout.setItem(i, itemId);
-					}
-				}
+				return INVALID_NUMBER;
 			}
-			catch (NumberFormatException e)
+			value = value * 10 + digit;
+			if (value > (long) Integer.MAX_VALUE + 1)
 			{
-				log.warn("Invalid layout entry: {}", part);
+				return INVALID_NUMBER;
 			}
 		}
 
-		log.debug("Parsed layout ({} format): {} items", external ? "external" : "built-in", layout.size());
-		return layout;
+		value = negative ? -value : value;
+		return value > Integer.MAX_VALUE ? INVALID_NUMBER : value;
+	}
+
+	private static int indexOf(CharSequence s, char c, int start, int end)
+	{
+		for (int i = start; i < end; i++)
+		{
+			if (s.charAt(i) == c)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int skipWhitespace(CharSequence s, int start, int end)
+	{
+		while (start < end && s.charAt(start) <= ' ')
+		{
+			start++;
+		}
+		return start;
+	}
+
+	private static int trimWhitespace(CharSequence s, int start, int end)
+	{
+		while (end > start && s.charAt(end - 1) <= ' ')
+		{
+			end--;
+		}
+		return end;
 	}
 
 	// Legacy methods for compatibility - convert to/from int[] for existing code
@@ -330,7 +616,7 @@ public class LayoutParser
 			return new int[0];
 		}
 
-		int maxPos = layout.getPositionToItem().keySet().stream().max(Integer::compare).orElse(-1);
+		int maxPos = layout.maxPosition();
 		int[] arr = new int[maxPos + 1];
 		for (int i = 0; i <= maxPos; i++)
 		{
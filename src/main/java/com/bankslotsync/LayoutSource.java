@@ -0,0 +1,71 @@
+package com.bankslotsync;
+
+import java.util.Objects;
+
+/**
+ * Where a tag's layout lives and what it held when it was read: the standardized tag, its
+ * layout_* config key, the config group that owns it, its format, and the raw value and hash.
+ *
+ * The sync engine caches one per tag and drops it when a change arrives for its key,
+ * so repeated layout access does not re-standardize the tag or probe both config groups.
+ */
+public class LayoutSource
+{
+	private final String standardizedTag;
+	private final String configKey;
+	private final String group;
+	private final String layout;
+	private final int layoutHash;
+	private final boolean externalFormat;
+
+	public LayoutSource(String standardizedTag, String configKey, String group, String layout)
+	{
+		this.standardizedTag = standardizedTag;
+		this.configKey = configKey;
+		this.group = group;
+		this.layout = layout;
+		this.layoutHash = layout != null ? layout.hashCode() : 0;
+		this.externalFormat = layout != null && LayoutParser.isExternalFormat(layout);
+	}
+
+	public String getStandardizedTag()
+	{
+		return standardizedTag;
+	}
+
+	public String getConfigKey()
+	{
+		return configKey;
+	}
+
+	/**
+	 * Get the config group that owns the layout, which is also where it is written back.
+	 */
+	public String getGroup()
+	{
+		return group;
+	}
+
+	/**
+	 * Get the raw layout string, or null if the tag has no layout.
+	 */
+	public String getLayout()
+	{
+		return layout;
+	}
+
+	public boolean isExternalFormat()
+	{
+		return externalFormat;
+	}
+
+	/**
+	 * Check if a config value for this source's group and key is the layout already read.
+	 */
+	public boolean matches(String group, String value)
+	{
+		return this.group.equals(group)
+			&& layoutHash == (value != null ? value.hashCode() : 0)
+			&& Objects.equals(layout, value);
+	}
+}
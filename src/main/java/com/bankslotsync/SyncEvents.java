@@ -0,0 +1,147 @@
+package com.bankslotsync;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events for the sync pipeline, so stutters can be lined up against GC and safepoints.
+ *
+ * Each event is begun before the work and only filled in and committed if {@link Event#shouldCommit()}
+ * says so. When no recording is running that is a constant false, and the JIT removes the event.
+ * Stack traces are off since every event has a single call site.
+ */
+public final class SyncEvents
+{
+	private static final String CATEGORY = "Bank Slot Sync";
+
+	private SyncEvents()
+	{
+	}
+
+	@Name("com.bankslotsync.ProcessNewItems")
+	@Label("Process New Items")
+	@Description("Tag migration and candidate layout collection for one sync")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class ProcessNewItems extends Event
+	{
+		@Label("Items")
+		public int items;
+
+		@Label("Items Left")
+		public int itemsLeft;
+
+		@Label("Candidate Tags")
+		public int candidateTags;
+
+		@Label("Active Tag")
+		public String activeTag;
+	}
+
+	@Name("com.bankslotsync.LayoutSync")
+	@Label("Layout Sync")
+	@Description("A variant placed in a layout")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class LayoutSync extends Event
+	{
+		@Label("Tag")
+		public String tag;
+
+		@Label("Item ID")
+		public int itemId;
+
+		@Label("Mode")
+		public String mode;
+
+		@Label("Slot")
+		public int slot;
+
+		@Label("Layout Size")
+		public int layoutSize;
+
+		@Label("Old Variant In Bank")
+		public boolean oldVariantInBank;
+	}
+
+	@Name("com.bankslotsync.TagMigration")
+	@Label("Tag Migration")
+	@Description("Bank tags copied from a variant that left the bank")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class TagMigration extends Event
+	{
+		@Label("Item ID")
+		public int itemId;
+
+		@Label("Old Item ID")
+		public int oldItemId;
+
+		@Label("Tags")
+		public String tags;
+
+		@Label("Old Tags Removed")
+		public boolean oldTagsRemoved;
+	}
+
+	@Name("com.bankslotsync.LayoutRead")
+	@Label("Layout Read")
+	@Description("A tag's layout read from config")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class LayoutRead extends Event
+	{
+		@Label("Tag")
+		public String tag;
+
+		@Label("Config Group")
+		public String group;
+
+		@Label("Size")
+		@DataAmount
+		public int bytes;
+	}
+
+	@Name("com.bankslotsync.LayoutWrite")
+	@Label("Layout Write")
+	@Description("A tag's layout queued to be written to config")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class LayoutWrite extends Event
+	{
+		@Label("Tag")
+		public String tag;
+
+		@Label("Config Group")
+		public String group;
+
+		@Label("Bytes Written")
+		@DataAmount
+		public int bytes;
+	}
+
+	@Name("com.bankslotsync.LayoutParse")
+	@Label("Layout Parse")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static class LayoutParse extends Event
+	{
+		@Label("Size")
+		@DataAmount
+		public int bytes;
+
+		@Label("Layout Size")
+		public int layoutSize;
+
+		@Label("External Format")
+		public boolean externalFormat;
+
+		@Label("Malformed Entries")
+		public int malformed;
+	}
+}
@@ -0,0 +1,328 @@
+package com.bankslotsync;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free timings and counters for the sync pipeline.
+ *
+ * Stages are recorded from both the client thread and the planning executor, so every value is a
+ * {@link LongAdder} (or {@link LongAccumulator} for maxima) and recording never blocks. Each stage
+ * keeps a histogram with fixed bucket bounds; percentiles are reported as the upper bound of the
+ * bucket they fall in, which is accurate enough to see where time goes.
+ */
+public class SyncMetrics
+{
+	public enum Stage
+	{
+		CONTAINER_DIFF("Container diff"),
+		VARIANT_LOOKUP("Variant lookup"),
+		CHARGE_DETECTION("Charge detection"),
+		LAYOUT_PARSE("Layout parse"),
+		MUTATION("Mutation"),
+		SERIALIZE("Serialize"),
+		CONFIG_WRITE("Config write"),
+		DEPOSIT_TO_SYNC("Deposit to sync");
+
+		private final String name;
+
+		Stage(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	public enum Counter
+	{
+		ITEMS_PROCESSED("Items processed"),
+		LAYOUTS_TOUCHED("Layouts touched"),
+		WRITES_FLUSHED("Writes flushed"),
+		WRITES_SKIPPED("Writes skipped"),
+		BANK_EVENTS_DIFFED("Bank events diffed"),
+		BANK_EVENTS_SKIPPED("Bank events skipped");
+
+		private final String name;
+
+		Counter(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	// Upper bounds of the histogram buckets in microseconds; a final bucket holds everything slower
+	static final long[] BUCKET_BOUNDS_MICROS = {
+		1, 2, 5, 10, 20, 50, 100, 200, 500,
+		1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000, 1_000_000
+	};
+
+	/**
+	 * Latency histogram for one stage.
+	 */
+	public static class Histogram
+	{
+		private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		Histogram()
+		{
+			for (int i = 0; i < buckets.length; i++)
+			{
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		void record(long nanos)
+		{
+			buckets[bucketOf(nanos)].increment();
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		void reset()
+		{
+			for (LongAdder bucket : buckets)
+			{
+				bucket.reset();
+			}
+			count.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+		}
+
+		public long getCount()
+		{
+			return count.sum();
+		}
+
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		public long getMaxNanos()
+		{
+			return maxNanos.get();
+		}
+
+		public long getBucketCount(int bucket)
+		{
+			return buckets[bucket].sum();
+		}
+
+		/**
+		 * Get the upper bound in microseconds of the bucket holding the given percentile,
+		 * or the max for the overflow bucket. Returns 0 if nothing was recorded.
+		 */
+		public long getPercentileMicros(double percentile)
+		{
+			long[] counts = new long[buckets.length];
+			long total = 0;
+			for (int i = 0; i < buckets.length; i++)
+			{
+				counts[i] = buckets[i].sum();
+				total += counts[i];
+			}
+			if (total == 0)
+			{
+				return 0;
+			}
+
+			long rank = (long) Math.ceil(total * percentile / 100.0);
+			long seen = 0;
+			for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++)
+			{
+				seen += counts[i];
+				if (seen >= rank)
+				{
+					return BUCKET_BOUNDS_MICROS[i];
+				}
+			}
+			return TimeUnit.NANOSECONDS.toMicros(getMaxNanos());
+		}
+
+		static int bucketOf(long nanos)
+		{
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++)
+			{
+				if (micros <= BUCKET_BOUNDS_MICROS[i])
+				{
+					return i;
+				}
+			}
+			return BUCKET_BOUNDS_MICROS.length;
+		}
+	}
+
+	private final Histogram[] histograms = new Histogram[Stage.values().length];
+	private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+	public SyncMetrics()
+	{
+		for (int i = 0; i < histograms.length; i++)
+		{
+			histograms[i] = new Histogram();
+		}
+		for (int i = 0; i < counters.length; i++)
+		{
+			counters[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a stage that took the given time.
+	 */
+	public void record(Stage stage, long nanos)
+	{
+		histograms[stage.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Record a stage that started at the given {@link System#nanoTime()} and ends now.
+	 */
+	public void recordSince(Stage stage, long startNanos)
+	{
+		record(stage, System.nanoTime() - startNanos);
+	}
+
+	public void increment(Counter counter)
+	{
+		counters[counter.ordinal()].increment();
+	}
+
+	public void add(Counter counter, long amount)
+	{
+		counters[counter.ordinal()].add(amount);
+	}
+
+	public long get(Counter counter)
+	{
+		return counters[counter.ordinal()].sum();
+	}
+
+	public Histogram getHistogram(Stage stage)
+	{
+		return histograms[stage.ordinal()];
+	}
+
+	public void reset()
+	{
+		for (Histogram histogram : histograms)
+		{
+			histogram.reset();
+		}
+		for (LongAdder counter : counters)
+		{
+			counter.reset();
+		}
+	}
+
+	/**
+	 * Summarize the metrics as short lines, one per recorded stage followed by the counters.
+	 */
+	public List<String> format()
+	{
+		List<String> lines = new ArrayList<>();
+		for (Stage stage : Stage.values())
+		{
+			Histogram histogram = getHistogram(stage);
+			long count = histogram.getCount();
+			if (count == 0)
+			{
+				continue;
+			}
+			lines.add(String.format("%s: %d x, avg %s, p50 %s, p99 %s, max %s", stage, count,
+				formatMicros(TimeUnit.NANOSECONDS.toMicros(histogram.getTotalNanos() / count)),
+				formatMicros(histogram.getPercentileMicros(50)), formatMicros(histogram.getPercentileMicros(99)),
+				formatMicros(TimeUnit.NANOSECONDS.toMicros(histogram.getMaxNanos()))));
+		}
+
+		StringBuilder counts = new StringBuilder();
+		for (Counter counter : Counter.values())
+		{
+			if (counts.length() > 0)
+			{
+				counts.append(", ");
+			}
+			counts.append(counter).append(' ').append(get(counter));
+		}
+		lines.add(counts.toString());
+		return lines;
+	}
+
+	/**
+	 * Write every stage's histogram and every counter to a CSV file.
+	 */
+	public void dump(File file) throws IOException
+	{
+		File dir = file.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs())
+		{
+			throw new IOException("Unable to create " + dir);
+		}
+
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name()))
+		{
+			StringBuilder header = new StringBuilder("stage,count,total_us,avg_us,p50_us,p90_us,p99_us,max_us");
+			for (long bound : BUCKET_BOUNDS_MICROS)
+			{
+				header.append(",le_").append(bound).append("_us");
+			}
+			header.append(",gt_").append(BUCKET_BOUNDS_MICROS[BUCKET_BOUNDS_MICROS.length - 1]).append("_us");
+			out.println(header);
+
+			for (Stage stage : Stage.values())
+			{
+				Histogram histogram = getHistogram(stage);
+				long count = histogram.getCount();
+				StringBuilder row = new StringBuilder(stage.name());
+				row.append(',').append(count)
+					.append(',').append(TimeUnit.NANOSECONDS.toMicros(histogram.getTotalNanos()))
+					.append(',').append(count > 0 ? TimeUnit.NANOSECONDS.toMicros(histogram.getTotalNanos() / count) : 0)
+					.append(',').append(histogram.getPercentileMicros(50))
+					.append(',').append(histogram.getPercentileMicros(90))
+					.append(',').append(histogram.getPercentileMicros(99))
+					.append(',').append(TimeUnit.NANOSECONDS.toMicros(histogram.getMaxNanos()));
+				for (int i = 0; i <= BUCKET_BOUNDS_MICROS.length; i++)
+				{
+					row.append(',').append(histogram.getBucketCount(i));
+				}
+				out.println(row);
+			}
+
+			out.println();
+			out.println("counter,value");
+			for (Counter counter : Counter.values())
+			{
+				out.println(counter.name() + "," + get(counter));
+			}
+		}
+	}
+
+	private static String formatMicros(long micros)
+	{
+		return micros >= 1_000 ? String.format("%.1f ms", micros / 1_000.0) : micros + " us";
+	}
+}
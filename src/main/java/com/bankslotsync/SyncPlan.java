@@ -0,0 +1,111 @@
+package com.bankslotsync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The layout writes and notifications {@link SyncPlanner} worked out for a {@link SyncRequest}.
+ * It is only valid while the layouts are still at the request's layout version.
+ */
+public class SyncPlan
+{
+	/**
+	 * A new layout string for one tag, the new items that changed it, and the notifications to show
+	 * once it is written.
+	 */
+	public static class LayoutChange
+	{
+		private final SyncRequest request;
+		private final String tagName;
+		private final LayoutSource source;
+		private final String layout;
+		private final int[] itemIds;
+		private final List<String> notifications;
+
+		LayoutChange(SyncRequest request, String tagName, LayoutSource source, String layout, int[] itemIds,
+			List<String> notifications)
+		{
+			this.request = request;
+			this.tagName = tagName;
+			this.source = source;
+			this.layout = layout;
+			this.itemIds = itemIds;
+			this.notifications = notifications;
+		}
+
+		/**
+		 * Get the request this change was planned for.
+		 */
+		public SyncRequest getRequest()
+		{
+			return request;
+		}
+
+		public String getTagName()
+		{
+			return tagName;
+		}
+
+		/**
+		 * Get the source the layout was read from, and is written back to.
+		 */
+		public LayoutSource getSource()
+		{
+			return source;
+		}
+
+		public String getLayout()
+		{
+			return layout;
+		}
+
+		/**
+		 * Get the new items placed in this layout, which are all that need replanning if it goes stale.
+		 */
+		public int[] getItemIds()
+		{
+			return itemIds;
+		}
+
+		public List<String> getNotifications()
+		{
+			return notifications;
+		}
+	}
+
+	private final SyncRequest request;
+	private final List<LayoutChange> layoutChanges = new ArrayList<>();
+
+	// Notifications of the tag being planned, by tag name
+	private final Map<String, List<String>> notifications = new LinkedHashMap<>();
+
+	SyncPlan(SyncRequest request)
+	{
+		this.request = request;
+	}
+
+	void addLayoutChange(String tagName, LayoutSource source, String layout, int[] itemIds)
+	{
+		List<String> tagNotifications = notifications.remove(tagName);
+		layoutChanges.add(new LayoutChange(request, tagName, source, layout, itemIds,
+			tagNotifications != null ? Collections.unmodifiableList(tagNotifications) : Collections.emptyList()));
+	}
+
+	void addNotification(String tagName, String message)
+	{
+		notifications.computeIfAbsent(tagName, k -> new ArrayList<>()).add(message);
+	}
+
+	public SyncRequest getRequest()
+	{
+		return request;
+	}
+
+	public List<LayoutChange> getLayoutChanges()
+	{
+		return Collections.unmodifiableList(layoutChanges);
+	}
+}
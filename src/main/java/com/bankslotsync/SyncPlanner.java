@@ -0,0 +1,235 @@
+package com.bankslotsync;
+
+import java.util.Arrays;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Works out where newly deposited variants go in each candidate layout.
+ *
+ * Planning only reads the {@link SyncRequest} and the immutable variant mapping, so it runs off
+ * the client thread. The resulting {@link SyncPlan} is applied on the client thread.
+ */
+@Slf4j
+public class SyncPlanner
+{
+	private final ItemVariantMapping variantMapping;
+	private final LayoutMode layoutMode;
+	private final boolean adjacentWhenOccupied;
+	private final boolean detectChargeVariants;
+	private final SyncMetrics metrics;
+
+	public SyncPlanner(ItemVariantMapping variantMapping, LayoutMode layoutMode, boolean adjacentWhenOccupied,
+		boolean detectChargeVariants, SyncMetrics metrics)
+	{
+		this.variantMapping = variantMapping;
+		this.layoutMode = layoutMode;
+		this.adjacentWhenOccupied = adjacentWhenOccupied;
+		this.detectChargeVariants = detectChargeVariants;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Plan a sync. Each layout is parsed once, every new item is applied to it in memory,
+	 * and each changed layout appears in the plan once.
+	 */
+	public SyncPlan plan(SyncRequest request)
+	{
+		SyncPlan plan = new SyncPlan(request);
+		for (Map.Entry<String, LayoutSource> entry : request.getLayouts().entrySet())
+		{
+			String tagName = entry.getKey();
+			long start = System.nanoTime();
+			LayoutParser.Layout layout = LayoutParser.parseLayout(entry.getValue().getLayout());
+			metrics.recordSince(SyncMetrics.Stage.LAYOUT_PARSE, start);
+			log.debug("Tag '{}' has layout with {} items", tagName, layout.size());
+
+			int[] newItemIds = request.getNewItemIds();
+			int[] changedBy = new int[newItemIds.length];
+			int changedByCount = 0;
+			for (int newItemId : newItemIds)
+			{
+				if (applyNewItem(plan, tagName, layout, newItemId))
+				{
+					changedBy[changedByCount++] = newItemId;
+				}
+			}
+
+			if (changedByCount > 0)
+			{
+				start = System.nanoTime();
+				String serialized = layout.serialize();
+				metrics.recordSince(SyncMetrics.Stage.SERIALIZE, start);
+				log.debug("Serialized layout to save for '{}': {}", tagName, serialized);
+				plan.addLayoutChange(tagName, entry.getValue(), serialized, Arrays.copyOf(changedBy, changedByCount));
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Apply a single new item to a tag's layout in memory.
+	 * Returns true if the layout was modified.
+	 */
+	private boolean applyNewItem(SyncPlan plan, String tagName, LayoutParser.Layout layout, int newItemId)
+	{
+		int variantPosition = -1;
+		int existingVariantId = -1;
+		boolean isChargeVariant = false;
+
+		// First, check hardcoded variant groups
+		long start = System.nanoTime();
+		int groupId = variantMapping.groupIdOf(newItemId);
+		if (groupId != ItemVariantMapping.NO_GROUP)
+		{
+			variantPosition = layout.findVariantPosition(variantMapping, groupId);
+			if (variantPosition >= 0)
+			{
+				existingVariantId = layout.getItem(variantPosition);
+				log.debug("New item {} matches hardcoded variant group at pos {}", newItemId, variantPosition);
+			}
+		}
+		metrics.recordSince(SyncMetrics.Stage.VARIANT_LOOKUP, start);
+
+		// If no hardcoded match, try charge-based detection
+		if (variantPosition < 0 && detectChargeVariants)
+		{
+			start = System.nanoTime();
+			variantPosition = ChargeFamilyIndex.findPosition(layout, plan.getRequest().getChargeFamily(newItemId), newItemId);
+			metrics.recordSince(SyncMetrics.Stage.CHARGE_DETECTION, start);
+			if (variantPosition >= 0)
+			{
+				existingVariantId = layout.getItem(variantPosition);
+				isChargeVariant = true;
+				log.debug("New item {} matches charge variant {} at pos {}", newItemId, existingVariantId, variantPosition);
+			}
+		}
+
+		// No variant match found in this layout
+		if (variantPosition < 0)
+		{
+			return false;
+		}
+
+		// Check if the new item is already at the correct position
+		if (existingVariantId == newItemId)
+		{
+			log.debug("Item {} already at correct position {} in tag '{}'", newItemId, variantPosition, tagName);
+			return false;
+		}
+
+		// Check if the existing variant is still in the bank
+		// If it's gone, the user probably swapped it for the new variant
+		int[] bankItems = plan.getRequest().getBankItems();
+		if (BankSnapshot.contains(bankItems, bankItems.length, existingVariantId))
+		{
+			log.debug("Existing variant {} still in bank", existingVariantId);
+			if (layoutMode == LayoutMode.ADJACENT
+				|| (layoutMode == LayoutMode.REPLACE && adjacentWhenOccupied))
+			{
+				start = System.nanoTime();
+				addVariantAdjacent(plan, tagName, layout, variantPosition, newItemId);
+				metrics.recordSince(SyncMetrics.Stage.MUTATION, start);
+				return true;
+			}
+			return false;
+		}
+
+		// The old variant is gone - replace it with the new one
+		log.debug("Old variant {} is GONE, syncing {} to position {}", existingVariantId, newItemId, variantPosition);
+		start = System.nanoTime();
+		syncVariantToLayout(plan, tagName, layout, variantPosition, newItemId, isChargeVariant);
+		metrics.recordSince(SyncMetrics.Stage.MUTATION, start);
+		return true;
+	}
+
+	/**
+	 * Sync a variant item to a layout position based on the configured Layout Mode.
+	 * This is called when the OLD variant is no longer in the bank (user swapped it).
+	 */
+	private void syncVariantToLayout(SyncPlan plan, String tagName, LayoutParser.Layout layout, int variantPosition,
+		int newItemId, boolean isChargeVariant)
+	{
+		SyncEvents.LayoutSync event = new SyncEvents.LayoutSync();
+		event.begin();
+
+		String itemName = plan.getRequest().getItemName(newItemId);
+		log.debug("syncVariantToLayout called: tag={}, pos={}, newId={}, layoutMode={}",
+			tagName, variantPosition, newItemId, layoutMode);
+
+		// First, remove the new item from any other position in the layout
+		// (in case Bank Tags already added it at the end)
+		int existingPos = layout.findItemPosition(newItemId);
+		log.debug("New item {} current position in layout: {}", newItemId, existingPos);
+		if (existingPos >= 0 && existingPos != variantPosition)
+		{
+			layout.setItem(existingPos, -1); // Remove from old position
+			log.debug("Removed item {} from position {}", newItemId, existingPos);
+		}
+
+		int slot = variantPosition;
+		switch (layoutMode)
+		{
+			case REPLACE:
+				// Replace: new item takes old item's exact position
+				log.debug("REPLACE mode: setting position {} to item {}", variantPosition, newItemId);
+				layout.setItem(variantPosition, newItemId);
+				plan.addNotification(tagName, "Synced " + itemName + " to '" + tagName + "' (slot " + variantPosition + ")");
+				break;
+
+			case ADJACENT:
+				// Insert next to the variant, shifting only items on the same row
+				int insertPos = variantPosition + 1;
+				log.debug("ADJACENT mode: variantPosition={}, insertPos={}", variantPosition, insertPos);
+				layout.insertAtSameRow(insertPos, newItemId);
+				plan.addNotification(tagName, "Synced " + itemName + " to '" + tagName + "' (slot " + insertPos + ")");
+				slot = insertPos;
+				break;
+		}
+
+		commitLayoutSync(event, tagName, newItemId, slot, layout, false);
+	}
+
+	/**
+	 * Add a new variant next to an existing variant (ADJACENT mode when both items are in bank).
+	 */
+	private void addVariantAdjacent(SyncPlan plan, String tagName, LayoutParser.Layout layout, int existingPosition,
+		int newItemId)
+	{
+		SyncEvents.LayoutSync event = new SyncEvents.LayoutSync();
+		event.begin();
+
+		String itemName = plan.getRequest().getItemName(newItemId);
+
+		// First, remove the new item from any other position in the layout
+		int existingPos = layout.findItemPosition(newItemId);
+		if (existingPos >= 0)
+		{
+			layout.setItem(existingPos, -1);
+			log.debug("Removed item {} from position {} before placing adjacent", newItemId, existingPos);
+		}
+
+		// Insert next to the existing item, shifting only items on the same row
+		int insertPos = existingPosition + 1;
+		layout.insertAtSameRow(insertPos, newItemId);
+		plan.addNotification(tagName, "Added " + itemName + " to '" + tagName + "' (slot " + insertPos + ")");
+
+		commitLayoutSync(event, tagName, newItemId, insertPos, layout, true);
+	}
+
+	private void commitLayoutSync(SyncEvents.LayoutSync event, String tagName, int itemId, int slot,
+		LayoutParser.Layout layout, boolean oldVariantInBank)
+	{
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.tag = tagName;
+			event.itemId = itemId;
+			event.mode = layoutMode.name();
+			event.slot = slot;
+			event.layoutSize = layout.size();
+			event.oldVariantInBank = oldVariantInBank;
+			event.commit();
+		}
+	}
+}
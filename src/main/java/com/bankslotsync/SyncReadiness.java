@@ -0,0 +1,102 @@
+package com.bankslotsync;
+
+/**
+ * Decides when queued items can be synced.
+ *
+ * After a deposit, Bank Tags may still add the item to a layout. Rather than always waiting a
+ * full tick, a sync may start as soon as a signal shows Bank Tags is done: one of its config
+ * writes landing, or the bank finishing a rebuild. If neither arrives, the sync starts anyway
+ * once the timeout has passed.
+ */
+public class SyncReadiness
+{
+	private final int timeoutTicks;
+
+	private boolean waiting = false;
+	private boolean signalled = false;
+	private int waitStartTick;
+
+	// System.nanoTime() of the oldest queued item not yet handed to a sync, or 0 if none
+	private long queuedAtNanos = 0;
+
+	public SyncReadiness(int timeoutTicks)
+	{
+		this.timeoutTicks = timeoutTicks;
+	}
+
+	/**
+	 * Note that new items were queued, starting the wait if one isn't running.
+	 */
+	public void itemsQueued(int tick, long nowNanos)
+	{
+		if (!waiting)
+		{
+			waiting = true;
+			signalled = false;
+			waitStartTick = tick;
+		}
+		if (queuedAtNanos == 0)
+		{
+			queuedAtNanos = nowNanos;
+		}
+	}
+
+	/**
+	 * Note that items were queued again after a sync gave them back. These don't need to wait.
+	 */
+	public void itemsRequeued(long queuedAtNanos)
+	{
+		waiting = true;
+		signalled = true;
+		if (this.queuedAtNanos == 0 || queuedAtNanos < this.queuedAtNanos)
+		{
+			this.queuedAtNanos = queuedAtNanos;
+		}
+	}
+
+	/**
+	 * Note that Bank Tags has finished with the deposit.
+	 * Returns true if this made a waiting sync ready.
+	 */
+	public boolean signal()
+	{
+		if (!waiting || signalled)
+		{
+			return false;
+		}
+		signalled = true;
+		return true;
+	}
+
+	public boolean isWaiting()
+	{
+		return waiting;
+	}
+
+	/**
+	 * Check if the queued items can be synced now.
+	 */
+	public boolean isReady(int tick)
+	{
+		return waiting && (signalled || tick - waitStartTick >= timeoutTicks);
+	}
+
+	/**
+	 * Hand the queued items to a sync. Returns when the oldest of them was queued.
+	 */
+	public long syncStarted()
+	{
+		long queuedAt = queuedAtNanos;
+		waiting = false;
+		signalled = false;
+		queuedAtNanos = 0;
+		return queuedAt;
+	}
+
+	public void reset()
+	{
+		waiting = false;
+		signalled = false;
+		queuedAtNanos = 0;
+	}
+}
@@ -0,0 +1,80 @@
+package com.bankslotsync;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything {@link SyncPlanner} needs for one sync, captured on the client thread.
+ * Nothing in it refers back to client or config state, so it can be planned on any thread.
+ */
+public class SyncRequest
+{
+	private final int layoutVersion;
+	private final long queuedAtNanos;
+	private final int[] newItemIds;
+	private final int[] bankItems;
+	private final Map<String, LayoutSource> layouts;
+	private final Map<Integer, String> itemNames;
+	private final Map<Integer, Set<Integer>> chargeFamilies;
+
+	/**
+	 * @param layoutVersion the plugin's layout version when the layouts were read
+	 * @param queuedAtNanos System.nanoTime() when the oldest of the new items was queued
+	 * @param newItemIds newly deposited item IDs, in the order they are applied
+	 * @param bankItems sorted, distinct IDs of everything in the bank
+	 * @param layouts candidate layouts by tag name as shown in tagtabs, in tagtabs order
+	 * @param itemNames display names of the new items
+	 * @param chargeFamilies for charged new items, the layout item IDs sharing their base name
+	 */
+	public SyncRequest(int layoutVersion, long queuedAtNanos, int[] newItemIds, int[] bankItems,
+		LinkedHashMap<String, LayoutSource> layouts, Map<Integer, String> itemNames, Map<Integer, Set<Integer>> chargeFamilies)
+	{
+		this.layoutVersion = layoutVersion;
+		this.queuedAtNanos = queuedAtNanos;
+		this.newItemIds = newItemIds;
+		this.bankItems = bankItems;
+		this.layouts = Collections.unmodifiableMap(layouts);
+		this.itemNames = Collections.unmodifiableMap(itemNames);
+		this.chargeFamilies = Collections.unmodifiableMap(chargeFamilies);
+	}
+
+	public int getLayoutVersion()
+	{
+		return layoutVersion;
+	}
+
+	public long getQueuedAtNanos()
+	{
+		return queuedAtNanos;
+	}
+
+	public int[] getNewItemIds()
+	{
+		return newItemIds;
+	}
+
+	public int[] getBankItems()
+	{
+		return bankItems;
+	}
+
+	public Map<String, LayoutSource> getLayouts()
+	{
+		return layouts;
+	}
+
+	public String getItemName(int itemId)
+	{
+		return itemNames.get(itemId);
+	}
+
+	/**
+	 * Get the charge family of a new item, or an empty set if it is not charged.
+	 */
+	public Set<Integer> getChargeFamily(int itemId)
+	{
+		return chargeFamilies.getOrDefault(itemId, Collections.emptySet());
+	}
+}
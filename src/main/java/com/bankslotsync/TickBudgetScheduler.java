@@ -0,0 +1,81 @@
+package com.bankslotsync;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A queue of client-thread work that is worked through a slice at a time, so a large batch is
+ * spread over several game ticks instead of stalling one. Work is run in queue order, except that
+ * work matching the priority predicate runs first. Adding work that is already queued is a no-op.
+ *
+ * The deadline is checked with {@link System#nanoTime()} before each unit, so a tick can overrun
+ * the budget by at most one unit. The first unit of each call always runs so the queue drains even
+ * if the budget is smaller than a single unit.
+ */
+public class TickBudgetScheduler<T>
+{
+	private final LinkedHashSet<T> queue = new LinkedHashSet<>();
+
+	public void add(T work)
+	{
+		queue.add(work);
+	}
+
+	public boolean isEmpty()
+	{
+		return queue.isEmpty();
+	}
+
+	public int size()
+	{
+		return queue.size();
+	}
+
+	public void clear()
+	{
+		queue.clear();
+	}
+
+	/**
+	 * Run queued work until the queue is empty or the deadline passes.
+	 *
+	 * @param deadlineNanos {@link System#nanoTime()} value after which no more work is started
+	 * @param isPriority work to run before the rest of the queue, or null for plain queue order
+	 * @param task runs one unit of work; it must not add work to this queue
+	 * @return the number of units run
+	 */
+	public int run(long deadlineNanos, Predicate<T> isPriority, Consumer<T> task)
+	{
+		int run = 0;
+		if (isPriority != null)
+		{
+			run = runMatching(deadlineNanos, isPriority, task, run);
+		}
+		return runMatching(deadlineNanos, null, task, run);
+	}
+
+	private int runMatching(long deadlineNanos, Predicate<T> filter, Consumer<T> task, int run)
+	{
+		Iterator<T> it = queue.iterator();
+		while (it.hasNext())
+		{
+			if (run > 0 && System.nanoTime() - deadlineNanos >= 0)
+			{
+				break;
+			}
+
+			T work = it.next();
+			if (filter != null && !filter.test(work))
+			{
+				continue;
+			}
+
+			it.remove();
+			task.accept(work);
+			run++;
+		}
+		return run;
+	}
+}
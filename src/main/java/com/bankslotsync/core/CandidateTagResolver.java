@@ -0,0 +1,65 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.ItemVariantMapping;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Finds the tag tabs a new item can sync into from the tags Bank Tags keeps on each item.
+ *
+ * A variant's slot is in the layout of a tab its old variant was tagged with, so the tags of every
+ * member of the item's variant group cover every layout a sync can change, without opening the rest.
+ */
+class CandidateTagResolver
+{
+	private final ItemVariantMapping variantMapping;
+	private final TagStore tagStore;
+	private final Function<String, String> standardizer;
+
+	CandidateTagResolver(ItemVariantMapping variantMapping, TagStore tagStore, Function<String, String> standardizer)
+	{
+		this.variantMapping = variantMapping;
+		this.tagStore = tagStore;
+		this.standardizer = standardizer;
+	}
+
+	/**
+	 * Add the standardized tags of an item and of every member of its variant group to tags.
+	 * Returns false if none of them has any.
+	 */
+	boolean resolve(int itemId, Set<String> tags)
+	{
+		int groupId = variantMapping.groupIdOf(itemId);
+		if (groupId == ItemVariantMapping.NO_GROUP)
+		{
+			return addTags(itemId, tags);
+		}
+
+		boolean found = false;
+		for (int i = 0, size = variantMapping.groupSize(groupId); i < size; i++)
+		{
+			found |= addTags(variantMapping.getMember(groupId, i), tags);
+		}
+		return found;
+	}
+
+	private boolean addTags(int itemId, Set<String> tags)
+	{
+		String itemTags = tagStore.getTags(itemId);
+		if (itemTags == null || itemTags.isEmpty())
+		{
+			return false;
+		}
+
+		boolean found = false;
+		for (String tag : itemTags.split(","))
+		{
+			if (!tag.trim().isEmpty())
+			{
+				tags.add(standardizer.apply(tag));
+				found = true;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,12 @@
+package com.bankslotsync.core;
+
+/**
+ * Looks up item display names.
+ */
+public interface ItemNameSource
+{
+	/**
+	 * Get the name of an item, or null if it is unknown.
+	 */
+	String getName(int itemId);
+}
@@ -0,0 +1,31 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.LayoutSource;
+import java.util.List;
+
+/**
+ * Where tag tabs and their layouts are read from and written to.
+ */
+public interface LayoutStore
+{
+	/**
+	 * Get the tag tab names in display order, as the user wrote them.
+	 */
+	List<String> getTagTabs();
+
+	/**
+	 * Standardize a tag name to the form used in layout keys.
+	 */
+	String standardizeTag(String tagName);
+
+	/**
+	 * Read a tag's layout from whichever source owns it. The layout in the result is null
+	 * if the tag has none.
+	 */
+	LayoutSource load(String standardizedTag);
+
+	/**
+	 * Write a layout back to the source it was read from.
+	 */
+	void save(LayoutSource source, String layout);
+}
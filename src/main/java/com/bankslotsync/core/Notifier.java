@@ -0,0 +1,9 @@
+package com.bankslotsync.core;
+
+/**
+ * Tells the user about layout changes.
+ */
+public interface Notifier
+{
+	void send(String message);
+}
@@ -0,0 +1,162 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.BankSnapshot;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Records the calls made to a {@link SyncEngine}, so a session can be run again by {@code SessionReplayer}.
+ *
+ * Records are encoded into memory as they happen; the owner takes them with {@link #drain()} and
+ * writes them out wherever is convenient, so recording never does I/O. Each item name is recorded
+ * the first time it is looked up, so the engine's name cache should be cleared when recording starts.
+ * Not thread safe.
+ */
+public class SessionRecorder
+{
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+	private int tick = 0;
+	private String activeTag;
+	private int records = 0;
+
+	// Sorted, distinct item IDs of the last BANK record, and a scratch buffer for the next
+	private int[] lastBankItems = new int[0];
+	private int lastBankItemCount = -1;
+	private int[] bankItems = new int[0];
+
+	public SessionRecorder()
+	{
+		buffer.write(SessionRecording.MAGIC >>> 24);
+		buffer.write(SessionRecording.MAGIC >>> 16);
+		buffer.write(SessionRecording.MAGIC >>> 8);
+		buffer.write(SessionRecording.MAGIC);
+		SessionRecording.writeVarInt(buffer, SessionRecording.VERSION);
+	}
+
+	/**
+	 * Record the bank contents the engine diffs against, as passed to {@link SyncEngine#loadBankBaseline}.
+	 */
+	public void baseline(int tick, int[] bankItems)
+	{
+		start(tick, SessionRecording.BASELINE);
+		SessionRecording.writeItemIds(buffer, bankItems, bankItems.length);
+	}
+
+	/**
+	 * Record a bank change, as passed to {@link SyncEngine#onBankChanged}.
+	 */
+	public void bankChanged(int tick, int[] itemIds, int count)
+	{
+		if (bankItems.length < count)
+		{
+			bankItems = new int[count];
+		}
+		System.arraycopy(itemIds, 0, bankItems, 0, count);
+		int bankItemCount = BankSnapshot.sortDistinct(bankItems, count);
+
+		// Quantity changes and rearrangements are common and need no IDs
+		if (bankItemCount == lastBankItemCount
+			&& Arrays.equals(bankItems, 0, bankItemCount, lastBankItems, 0, lastBankItemCount))
+		{
+			start(tick, SessionRecording.BANK_SAME);
+			return;
+		}
+
+		start(tick, SessionRecording.BANK);
+		SessionRecording.writeItemIds(buffer, bankItems, bankItemCount);
+
+		int[] swap = lastBankItems;
+		lastBankItems = bankItems;
+		lastBankItemCount = bankItemCount;
+		bankItems = swap;
+	}
+
+	public void bankOpened(int tick)
+	{
+		start(tick, SessionRecording.BANK_OPEN);
+	}
+
+	/**
+	 * Record a call to {@link SyncEngine#signalReady()}.
+	 */
+	public void signal(int tick)
+	{
+		start(tick, SessionRecording.SIGNAL);
+	}
+
+	/**
+	 * Record a call to {@link SyncEngine#runSync}.
+	 */
+	public void sync(int tick, String activeTag)
+	{
+		if (!Objects.equals(activeTag, this.activeTag))
+		{
+			this.activeTag = activeTag;
+			start(tick, SessionRecording.ACTIVE_TAG);
+			SessionRecording.writeString(buffer, activeTag);
+		}
+		start(tick, SessionRecording.SYNC);
+	}
+
+	/**
+	 * Record a layout, tag tab or item tag config change that the engine did not make itself.
+	 * The initial state of the stores is recorded the same way.
+	 */
+	public void configChanged(int tick, String group, String key, String value)
+	{
+		start(tick, SessionRecording.CONFIG);
+		SessionRecording.writeString(buffer, group);
+		SessionRecording.writeString(buffer, key);
+		SessionRecording.writeString(buffer, value);
+	}
+
+	public void itemName(int itemId, String name)
+	{
+		start(tick, SessionRecording.ITEM_NAME);
+		SessionRecording.writeVarInt(buffer, itemId);
+		SessionRecording.writeString(buffer, name);
+	}
+
+	public void profileChanged(int tick)
+	{
+		start(tick, SessionRecording.PROFILE_CHANGED);
+	}
+
+	/**
+	 * Record a call to {@link SyncEngine#resetBank()}.
+	 */
+	public void bankReset(int tick)
+	{
+		start(tick, SessionRecording.BANK_RESET);
+		lastBankItemCount = -1;
+	}
+
+	/**
+	 * Take the bytes recorded since the last drain.
+	 */
+	public byte[] drain()
+	{
+		byte[] bytes = buffer.toByteArray();
+		buffer.reset();
+		return bytes;
+	}
+
+	public int getRecordCount()
+	{
+		return records;
+	}
+
+	private void start(int tick, int type)
+	{
+		if (tick != this.tick)
+		{
+			buffer.write(SessionRecording.TICK);
+			SessionRecording.writeVarInt(buffer, tick - this.tick);
+			this.tick = tick;
+		}
+		buffer.write(type);
+		records++;
+	}
+}
@@ -0,0 +1,152 @@
+package com.bankslotsync.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary format shared by {@link SessionRecorder} and {@code SessionReplayer} (in the jmh source set).
+ *
+ * A recording is a header followed by records, each a type byte and its fields. Integers are
+ * unsigned LEB128 varints, strings are a varint length plus one followed by UTF-8 bytes (zero for
+ * null), and bank snapshots are sorted item IDs stored as gaps. Records that need the game tick use
+ * the tick of the last {@link #TICK} record. Files are written gzipped.
+ */
+final class SessionRecording
+{
+	static final int MAGIC = 0x42535352; // "BSSR"
+	static final int VERSION = 1;
+
+	/** Game tick: tick - previous tick */
+	static final int TICK = 1;
+	/** Bank contents the engine diffs against: sorted item IDs */
+	static final int BASELINE = 2;
+	/** Bank contents changed: sorted, distinct item IDs */
+	static final int BANK = 3;
+	/** Bank contents changed, with the same item IDs as the last BANK record */
+	static final int BANK_SAME = 4;
+	/** Bank interface opened */
+	static final int BANK_OPEN = 5;
+	/** Bank Tags finished with a deposit */
+	static final int SIGNAL = 6;
+	/** Sync run: no fields */
+	static final int SYNC = 7;
+	/** Open tag tab changed: tag, or null */
+	static final int ACTIVE_TAG = 8;
+	/** Config value set: group, key, value or null if unset */
+	static final int CONFIG = 9;
+	/** Item name looked up: item ID, name or null */
+	static final int ITEM_NAME = 10;
+	/** Config profile changed */
+	static final int PROFILE_CHANGED = 11;
+	/** Account changed; the bank is forgotten */
+	static final int BANK_RESET = 12;
+
+	private SessionRecording()
+	{
+	}
+
+	static void writeVarInt(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	static void writeString(ByteArrayOutputStream out, String value)
+	{
+		if (value == null)
+		{
+			writeVarInt(out, 0);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length + 1);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Write sorted item IDs as a count and the gaps between them.
+	 */
+	static void writeItemIds(ByteArrayOutputStream out, int[] itemIds, int count)
+	{
+		writeVarInt(out, count);
+		int previous = 0;
+		for (int i = 0; i < count; i++)
+		{
+			writeVarInt(out, itemIds[i] - previous);
+			previous = itemIds[i];
+		}
+	}
+
+	/**
+	 * Read a varint, or return -1 at the end of the stream if allowed.
+	 */
+	static int readVarInt(InputStream in, boolean eofAllowed) throws IOException
+	{
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			int b = in.read();
+			if (b < 0)
+			{
+				if (eofAllowed && shift == 0)
+				{
+					return -1;
+				}
+				throw new EOFException();
+			}
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	static int readVarInt(InputStream in) throws IOException
+	{
+		return readVarInt(in, false);
+	}
+
+	static String readString(InputStream in) throws IOException
+	{
+		int length = readVarInt(in);
+		if (length == 0)
+		{
+			return null;
+		}
+
+		byte[] bytes = new byte[length - 1];
+		int read = 0;
+		while (read < bytes.length)
+		{
+			int n = in.read(bytes, read, bytes.length - read);
+			if (n < 0)
+			{
+				throw new EOFException();
+			}
+			read += n;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static int[] readItemIds(InputStream in) throws IOException
+	{
+		int[] itemIds = new int[readVarInt(in)];
+		int previous = 0;
+		for (int i = 0; i < itemIds.length; i++)
+		{
+			previous += readVarInt(in);
+			itemIds[i] = previous;
+		}
+		return itemIds;
+	}
+}
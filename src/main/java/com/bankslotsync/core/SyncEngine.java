@@ -0,0 +1,915 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.BankSnapshot;
+import com.bankslotsync.ChargeFamilyIndex;
+import com.bankslotsync.ChargeVariantDetector;
+import com.bankslotsync.ItemNameCache;
+import com.bankslotsync.ItemVariantMapping;
+import com.bankslotsync.LayoutIndex;
+import com.bankslotsync.LayoutParser;
+import com.bankslotsync.LayoutSource;
+import com.bankslotsync.SyncEvents;
+import com.bankslotsync.SyncMetrics;
+import com.bankslotsync.SyncPlan;
+import com.bankslotsync.SyncPlanner;
+import com.bankslotsync.SyncReadiness;
+import com.bankslotsync.SyncRequest;
+import com.bankslotsync.TickBudgetScheduler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects deposited variants and syncs them into tag layouts, independent of the game client.
+ *
+ * Everything the engine reads or writes goes through {@link LayoutStore}, {@link TagStore},
+ * {@link ItemNameSource} and {@link Notifier}, and it is driven by calls for bank changes, config
+ * changes and ticks. All calls must come from one thread (the client thread in the plugin). Plans
+ * are made on the plan executor and handed back through the callback executor, which must run
+ * them on that same thread; headless runs can pass {@code Runnable::run} for both.
+ */
+@Slf4j
+public class SyncEngine
+{
+	private static final int SYNC_READY_TIMEOUT_TICKS = 2; // Ticks to wait for Bank Tags before syncing anyway
+
+	private final ItemVariantMapping variantMapping;
+	private final LayoutStore layoutStore;
+	private final TagStore tagStore;
+	private final Notifier notifier;
+	private final SyncSettings settings;
+	private final SyncMetrics metrics;
+	private final Executor planExecutor;
+	private final Executor callbackExecutor;
+
+	// Which tag layouts hold which items, built lazily a tab at a time within the tick budget and kept current
+	// via onLayoutChanged. Only untagged charged items need it; everything else finds its layouts through
+	// candidateTagResolver.
+	private final LayoutIndex layoutIndex;
+
+	private final CandidateTagResolver candidateTagResolver;
+
+	// Reused for every layout parsed for charge families
+	private final LayoutParser.Layout scratchLayout = new LayoutParser.Layout(false);
+
+	// Bumped whenever a layout or the tag set changes; a sync plan made against an older version is discarded
+	private int layoutVersion = 0;
+
+	// A sync is being planned on the executor; new items wait for the next sync
+	private boolean planInFlight = false;
+
+	// Planned layout writes, committed within the tick budget
+	private final TickBudgetScheduler<SyncPlan.LayoutChange> pendingLayoutChanges = new TickBudgetScheduler<>();
+
+	// Items requeued because a layout they changed went stale before it was written, with the only tags
+	// to replan them in; their other layouts were already written
+	private final Map<Integer, Set<String>> replanTags = new HashMap<>();
+
+	// The last change written to each standardized tag, replanned if the store drops the write (see
+	// onLayoutWriteDropped)
+	private final Map<String, SyncPlan.LayoutChange> writtenChanges = new HashMap<>();
+
+	// Layout source of each standardized tag, dropped by onLayoutChanged
+	private final Map<String, LayoutSource> layoutSources = new HashMap<>();
+
+	// Tag names as written in tagtabs, standardized
+	private final Map<String, String> standardizedTags = new HashMap<>();
+
+	// Charge families (by normalized base name) of the items in layoutIndex, or in the layouts opened for
+	// charged items while it isn't built
+	private final ChargeFamilyIndex chargeFamilyIndex = new ChargeFamilyIndex();
+
+	// Sorted, distinct bank item IDs from the last bank event, to detect changes.
+	// The other two buffers are reused by every event so unchanged banks allocate nothing.
+	private int[] previousBankItems = new int[0];
+	private int previousBankItemCount = 0;
+	private int[] currentBankItems = new int[0];
+	private int[] addedBankItems = new int[0];
+
+	// Fingerprint of the bank items at the last diff; an event with the same fingerprint is skipped
+	private long bankFingerprint = 0;
+	private int bankFingerprintCount = -1; // -1 until the first diff
+
+	// Items were added or removed since the bank baseline was last saved
+	private boolean bankBaselineDirty = false;
+
+	// Item names for charge variant detection, prefetched when the bank opens
+	private final ItemNameCache itemNameCache;
+
+	// Pending items to process once Bank Tags has finished with the deposit (see syncReadiness)
+	private final TickBudgetScheduler<Integer> pendingNewItems = new TickBudgetScheduler<>();
+	private int[] pendingAllBankItems = new int[0]; // Sorted bank snapshot
+	private boolean processPending = false;
+	private final SyncReadiness syncReadiness = new SyncReadiness(SYNC_READY_TIMEOUT_TICKS);
+
+	public SyncEngine(ItemVariantMapping variantMapping, LayoutStore layoutStore, TagStore tagStore,
+		ItemNameSource itemNames, Notifier notifier, SyncSettings settings, SyncMetrics metrics,
+		Executor planExecutor, Executor callbackExecutor)
+	{
+		this.variantMapping = variantMapping;
+		this.layoutStore = layoutStore;
+		this.tagStore = tagStore;
+		this.notifier = notifier;
+		this.settings = settings;
+		this.metrics = metrics;
+		this.planExecutor = planExecutor;
+		this.callbackExecutor = callbackExecutor;
+		this.layoutIndex = new LayoutIndex();
+		this.candidateTagResolver = new CandidateTagResolver(variantMapping, tagStore, this::standardizeTag);
+		this.itemNameCache = new ItemNameCache(itemNames::getName);
+	}
+
+	/**
+	 * Set the bank contents new items are detected against, such as the last known bank of the account.
+	 *
+	 * @param bankItems sorted, distinct item IDs
+	 */
+	public void loadBankBaseline(int[] bankItems)
+	{
+		previousBankItems = bankItems;
+		previousBankItemCount = bankItems.length;
+		bankFingerprintCount = -1;
+	}
+
+	/**
+	 * Forget the bank contents, such as when switching accounts.
+	 */
+	public void resetBank()
+	{
+		previousBankItemCount = 0;
+		bankFingerprintCount = -1;
+		bankBaselineDirty = false;
+	}
+
+	/**
+	 * Check if items were added or removed since {@link #bankBaselineSaved()}.
+	 */
+	public boolean isBankBaselineDirty()
+	{
+		return bankBaselineDirty;
+	}
+
+	public void bankBaselineSaved()
+	{
+		bankBaselineDirty = false;
+	}
+
+	/**
+	 * Get the sorted, distinct item IDs of the bank at the last change.
+	 */
+	public int[] getBankItems()
+	{
+		return Arrays.copyOf(previousBankItems, previousBankItemCount);
+	}
+
+	/**
+	 * Queue the items deposited since the last bank change.
+	 *
+	 * @param itemIds IDs of the bank slots, in any order, with empty slots as zero or less; not kept
+	 * @param count number of slots in itemIds
+	 * @param tick the current game tick
+	 */
+	public void onBankChanged(int[] itemIds, int count, int tick)
+	{
+		// Quantity changes and rearrangements leave the fingerprint unchanged, so skip the diff
+		long start = System.nanoTime();
+		long fingerprint = 0;
+		int fingerprintCount = 0;
+		for (int i = 0; i < count; i++)
+		{
+			if (itemIds[i] > 0)
+			{
+				fingerprint += BankSnapshot.fingerprint(itemIds[i]);
+				fingerprintCount++;
+			}
+		}
+		if (fingerprint == bankFingerprint && fingerprintCount == bankFingerprintCount)
+		{
+			metrics.increment(SyncMetrics.Counter.BANK_EVENTS_SKIPPED);
+			metrics.recordSince(SyncMetrics.Stage.CONTAINER_DIFF, start);
+			return;
+		}
+		bankFingerprint = fingerprint;
+		bankFingerprintCount = fingerprintCount;
+		metrics.increment(SyncMetrics.Counter.BANK_EVENTS_DIFFED);
+
+		if (currentBankItems.length < count)
+		{
+			currentBankItems = new int[count];
+		}
+		if (addedBankItems.length < count)
+		{
+			addedBankItems = new int[count];
+		}
+		System.arraycopy(itemIds, 0, currentBankItems, 0, count);
+		int currentBankItemCount = BankSnapshot.sortDistinct(currentBankItems, count);
+
+		// Find newly added items (items in current but not in previous)
+		int newItemCount = BankSnapshot.findAdded(currentBankItems, currentBankItemCount,
+			previousBankItems, previousBankItemCount, addedBankItems);
+
+		if (newItemCount > 0)
+		{
+			log.debug("New items detected: {}", Arrays.toString(Arrays.copyOf(addedBankItems, newItemCount)));
+			for (int i = 0; i < newItemCount; i++)
+			{
+				itemNameCache.prefetch(addedBankItems[i]);
+				pendingNewItems.add(addedBankItems[i]);
+				replanTags.remove(addedBankItems[i]);
+			}
+			pendingAllBankItems = Arrays.copyOf(currentBankItems, currentBankItemCount);
+			processPending = true;
+			syncReadiness.itemsQueued(tick, System.nanoTime());
+		}
+
+		// Items were added or removed
+		if (newItemCount > 0 || BankSnapshot.findAdded(previousBankItems, previousBankItemCount,
+			currentBankItems, currentBankItemCount, null) > 0)
+		{
+			bankBaselineDirty = true;
+		}
+
+		// Swap buffers; the old snapshot is overwritten by the next event
+		int[] swap = previousBankItems;
+		previousBankItems = currentBankItems;
+		previousBankItemCount = currentBankItemCount;
+		currentBankItems = swap;
+		metrics.recordSince(SyncMetrics.Stage.CONTAINER_DIFF, start);
+	}
+
+	/**
+	 * Name everything a sync can touch now, so the sync never waits on name lookups.
+	 */
+	public void prefetchItemNames(int[] bankItemIds, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			itemNameCache.prefetch(bankItemIds[i]);
+		}
+
+		// Layout items are only named for charge detection, which is the only user of the full index. Its
+		// items are named as runSync indexes each tab.
+		if (settings.detectChargeVariants())
+		{
+			startLayoutIndex(layoutStore.getTagTabs());
+		}
+		log.debug("Prefetched item names: {} hits, {} misses so far", itemNameCache.getHits(), itemNameCache.getMisses());
+	}
+
+	/**
+	 * Note that tag tabs were added or removed.
+	 */
+	public void onTagTabsChanged()
+	{
+		layoutIndex.invalidate();
+		layoutVersion++;
+	}
+
+	/**
+	 * Note that a tag's layout was written, by the engine or anything else.
+	 */
+	public void onLayoutChanged(String standardizedTag, String group, String layout)
+	{
+		LayoutSource source = layoutSources.get(standardizedTag);
+		if (source != null && source.matches(group, layout))
+		{
+			return;
+		}
+
+		// Re-resolve since the external layout takes precedence over the built-in one
+		layoutSources.remove(standardizedTag);
+		layoutVersion++;
+		if (layoutIndex.isBuilt() || layoutIndex.isBuilding())
+		{
+			updateLayoutIndex(standardizedTag, getLayoutSource(standardizedTag).getLayout());
+		}
+	}
+
+	/**
+	 * Note that every layout may have changed, such as when the config profile changes.
+	 */
+	public void onProfileChanged()
+	{
+		layoutIndex.invalidate();
+		layoutSources.clear();
+		writtenChanges.clear();
+		layoutVersion++;
+	}
+
+	/**
+	 * Note that the store dropped the engine's last write to a tag's layout before it reached the config,
+	 * because something else wrote the layout first. The items of that write are planned again, in that
+	 * tag only, against the layout that was written instead. Call {@link #onLayoutChanged} for the other
+	 * write first.
+	 */
+	public void onLayoutWriteDropped(String standardizedTag)
+	{
+		SyncPlan.LayoutChange change = writtenChanges.remove(standardizedTag);
+		if (change != null)
+		{
+			log.debug("Write to '{}' was dropped for a newer layout, replanning", change.getTagName());
+			replan(change);
+		}
+	}
+
+	/**
+	 * Note that Bank Tags has finished with the deposit.
+	 * Returns true if queued items became ready, and {@link #runSync} should be called soon.
+	 */
+	public boolean signalReady()
+	{
+		return syncReadiness.signal();
+	}
+
+	/**
+	 * Check if items are still waiting to be planned, planned layout changes to be written, or the layout
+	 * index to be built.
+	 */
+	public boolean hasPendingWork()
+	{
+		return processPending || planInFlight || !pendingLayoutChanges.isEmpty() || layoutIndex.isBuilding();
+	}
+
+	/**
+	 * Get the deadline for one tick's work, starting now.
+	 */
+	public long tickDeadline()
+	{
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.tickBudget());
+	}
+
+	/**
+	 * Commit planned layout changes, build the layout index and start planning ready items, within the
+	 * tick budget.
+	 *
+	 * @param tick the current game tick
+	 * @param activeTag the open tag tab, or null if none is open; its work goes first
+	 * @return the number of layout changes committed
+	 */
+	public int runSync(int tick, String activeTag)
+	{
+		return runSync(tick, activeTag, tickDeadline());
+	}
+
+	/**
+	 * Like {@link #runSync(int, String)}, but sharing a deadline from {@link #tickDeadline()} with work
+	 * the caller does after it, such as writing out the changes.
+	 */
+	public int runSync(int tick, String activeTag, long deadline)
+	{
+		if (pendingLayoutChanges.isEmpty() && (!processPending || planInFlight) && !layoutIndex.isBuilding())
+		{
+			return 0;
+		}
+
+		// Work shares one deadline; whatever is left over continues next tick, active tag first
+		String standardizedActiveTag = activeTag != null ? standardizeTag(activeTag) : null;
+
+		int committed = 0;
+		if (!pendingLayoutChanges.isEmpty())
+		{
+			committed = pendingLayoutChanges.run(deadline,
+				change -> change.getSource().getStandardizedTag().equals(standardizedActiveTag), this::commitLayoutChange);
+			log.debug("Committed {} layout changes, {} left", committed, pendingLayoutChanges.size());
+		}
+
+		if (layoutIndex.isBuilding())
+		{
+			buildLayoutIndex(deadline);
+		}
+
+		// A new plan is only started once the last one is fully written, so it plans against current layouts
+		if (!processPending || planInFlight || !pendingLayoutChanges.isEmpty() || !syncReadiness.isReady(tick))
+		{
+			return committed;
+		}
+		processPending = false;
+
+		log.debug("Processing {} pending items", pendingNewItems.size());
+		long queuedAtNanos = syncReadiness.syncStarted();
+		processNewItems(deadline, standardizedActiveTag, queuedAtNanos);
+		if (!pendingNewItems.isEmpty())
+		{
+			processPending = true;
+			syncReadiness.itemsRequeued(queuedAtNanos);
+		}
+		else
+		{
+			pendingAllBankItems = new int[0];
+		}
+		return committed;
+	}
+
+	/**
+	 * Drop all queued work and cached state.
+	 */
+	public void reset()
+	{
+		previousBankItemCount = 0;
+		bankFingerprintCount = -1;
+		bankBaselineDirty = false;
+		itemNameCache.clear();
+		pendingNewItems.clear();
+		pendingAllBankItems = new int[0];
+		pendingLayoutChanges.clear();
+		replanTags.clear();
+		writtenChanges.clear();
+		processPending = false;
+		syncReadiness.reset();
+		layoutVersion++;
+		layoutIndex.invalidate();
+		chargeFamilyIndex.clear();
+		layoutSources.clear();
+		standardizedTags.clear();
+	}
+
+	public ItemNameCache getItemNameCache()
+	{
+		return itemNameCache;
+	}
+
+	/**
+	 * Start rebuilding the layout index if it was invalidated. {@link #runSync} builds it a tab at a time.
+	 */
+	private void startLayoutIndex(List<String> tagTabs)
+	{
+		if (layoutIndex.isBuilt() || layoutIndex.isBuilding() || tagTabs.isEmpty())
+		{
+			return;
+		}
+
+		List<String> tags = new ArrayList<>(tagTabs.size());
+		for (String tagName : tagTabs)
+		{
+			if (tagName != null && !tagName.isEmpty())
+			{
+				tags.add(standardizeTag(tagName));
+			}
+		}
+		chargeFamilyIndex.clear();
+		layoutIndex.startRebuild(tags);
+	}
+
+	/**
+	 * Index tabs until the layout index is built or the deadline passes, along with the charge families
+	 * and names of their items. At least one tab is indexed, so the build always moves on.
+	 */
+	private void buildLayoutIndex(long deadline)
+	{
+		do
+		{
+			String tag = layoutIndex.indexNext(t -> getLayoutSource(t).getLayout());
+			if (tag == null)
+			{
+				return;
+			}
+
+			for (LayoutIndex.Entry entry : layoutIndex.getEntriesForTag(tag))
+			{
+				chargeFamilyIndex.add(entry.getItemId());
+				itemNameCache.prefetch(entry.getItemId());
+			}
+		}
+		while (layoutIndex.isBuilding() && System.nanoTime() - deadline < 0);
+	}
+
+	/**
+	 * Re-index one tag's layout, along with the charge families of its items.
+	 */
+	private void updateLayoutIndex(String standardizedTag, String layout)
+	{
+		layoutIndex.updateTag(standardizedTag, layout);
+		for (LayoutIndex.Entry entry : layoutIndex.getEntriesForTag(standardizedTag))
+		{
+			chargeFamilyIndex.add(entry.getItemId());
+		}
+	}
+
+	/**
+	 * Process pending items until the deadline, recording a {@link SyncEvents.ProcessNewItems} event.
+	 */
+	private void processNewItems(long deadline, String activeTag, long queuedAtNanos)
+	{
+		SyncEvents.ProcessNewItems event = new SyncEvents.ProcessNewItems();
+		event.begin();
+		int pendingBefore = pendingNewItems.size();
+
+		int candidateTags = planNewItems(deadline, activeTag, queuedAtNanos);
+
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.items = pendingBefore - pendingNewItems.size();
+			event.itemsLeft = pendingNewItems.size();
+			event.candidateTags = candidateTags;
+			event.activeTag = activeTag;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Process pending items until the deadline: sync tags and collect candidate layouts on this thread,
+	 * then plan the layout changes on the plan executor. The plan is committed by {@link #commitSyncPlan}.
+	 * Items touching the active tag go first; any left over stay pending.
+	 * Returns the number of candidate layouts planned.
+	 */
+	private int planNewItems(long deadline, String activeTag, long queuedAtNanos)
+	{
+		List<String> tagTabs = layoutStore.getTagTabs();
+		if (tagTabs.isEmpty())
+		{
+			log.debug("No tag tabs found");
+			pendingNewItems.clear();
+			return 0;
+		}
+		log.debug("Found {} tag tabs", tagTabs.size());
+
+		int[] allBankItems = pendingAllBankItems;
+		boolean detectChargeVariants = settings.detectChargeVariants();
+		List<Integer> newItems = new ArrayList<>();
+		Set<String> candidateTags = new HashSet<>();
+		Map<Integer, Set<Integer>> chargeFamilies = new HashMap<>();
+		Map<Integer, String> itemNames = new HashMap<>();
+
+		// Only open the layouts of tabs the new items' variant groups are tagged with. Tags are resolved
+		// before handleVariantTags can remove the old variant's.
+		Map<Integer, Set<String>> itemCandidateTags = new HashMap<>();
+		Set<String> chargeIndexedTags = new HashSet<>();
+
+		// Untagged charged items could match any layout, so they wait until the full index is built
+		List<Integer> waitingForIndex = new ArrayList<>();
+
+		pendingNewItems.run(deadline, itemId -> isInTag(itemId, activeTag, itemCandidateTags), newItemId -> {
+			if (!canHaveVariants(newItemId))
+			{
+				return;
+			}
+
+			String itemName = itemNameCache.getName(newItemId);
+			Set<String> itemTags = resolveCandidateTags(newItemId, itemCandidateTags);
+			boolean charged = detectChargeVariants && ChargeVariantDetector.isChargedItem(itemName);
+			if (charged && itemTags.isEmpty() && !layoutIndex.isBuilt())
+			{
+				startLayoutIndex(tagTabs);
+				waitingForIndex.add(newItemId);
+				return;
+			}
+
+			newItems.add(newItemId);
+			metrics.increment(SyncMetrics.Counter.ITEMS_PROCESSED);
+			itemNames.put(newItemId, itemName);
+			candidateTags.addAll(itemTags);
+
+			// Copy tags from old variant and remove old variant's tags
+			Set<Integer> variantGroup = variantMapping.getVariantGroup(newItemId);
+			if (variantGroup != null)
+			{
+				handleVariantTags(newItemId, variantGroup, allBankItems);
+			}
+
+			if (charged)
+			{
+				long start = System.nanoTime();
+				if (!itemTags.isEmpty() && !layoutIndex.isBuilt())
+				{
+					indexChargeFamilies(itemTags, chargeIndexedTags);
+				}
+
+				// New items are indexed too, so one placed earlier in this batch can anchor the next
+				chargeFamilyIndex.add(newItemId);
+				Set<Integer> family = getChargeFamily(newItemId);
+				metrics.recordSince(SyncMetrics.Stage.CHARGE_DETECTION, start);
+				chargeFamilies.put(newItemId, family);
+				if (itemTags.isEmpty())
+				{
+					for (int familyItemId : family)
+					{
+						for (LayoutIndex.Entry entry : layoutIndex.getEntriesForItem(familyItemId))
+						{
+							candidateTags.add(entry.getTag());
+						}
+					}
+				}
+			}
+		});
+		for (int itemId : waitingForIndex)
+		{
+			pendingNewItems.add(itemId);
+		}
+		log.debug("{} candidate tags for {} new items, {} items left for later ticks",
+			candidateTags.size(), newItems.size(), pendingNewItems.size());
+
+		// Snapshot the candidate layouts and everything else the planner reads
+		LinkedHashMap<String, LayoutSource> layouts = new LinkedHashMap<>();
+		for (String tagName : tagTabs)
+		{
+			if (tagName == null || tagName.isEmpty())
+			{
+				continue;
+			}
+
+			if (!candidateTags.contains(standardizeTag(tagName)))
+			{
+				continue;
+			}
+
+			LayoutSource source = getLayoutSource(tagName);
+			if (source.getLayout() != null && !source.getLayout().isEmpty())
+			{
+				layouts.put(tagName, source);
+			}
+		}
+
+		if (layouts.isEmpty())
+		{
+			return 0;
+		}
+
+		int[] newItemIds = new int[newItems.size()];
+		for (int i = 0; i < newItemIds.length; i++)
+		{
+			newItemIds[i] = newItems.get(i);
+		}
+
+		SyncRequest request = new SyncRequest(layoutVersion, queuedAtNanos, newItemIds, allBankItems, layouts, itemNames, chargeFamilies);
+		SyncPlanner planner = new SyncPlanner(variantMapping, settings.layoutMode(), settings.adjacentWhenOccupied(),
+			detectChargeVariants, metrics);
+
+		planInFlight = true;
+		planExecutor.execute(() -> {
+			SyncPlan plan;
+			try
+			{
+				plan = planner.plan(request);
+			}
+			catch (RuntimeException e)
+			{
+				log.warn("Failed to plan sync for items {}", newItems, e);
+				callbackExecutor.execute(() -> planInFlight = false);
+				return;
+			}
+			callbackExecutor.execute(() -> commitSyncPlan(plan));
+		});
+		return layouts.size();
+	}
+
+	/**
+	 * Get the indexed layout item IDs that are charge variants of a charged item.
+	 */
+	private Set<Integer> getChargeFamily(int itemId)
+	{
+		chargeFamilyIndex.resolvePending(itemNameCache::getBaseName);
+
+		Set<Integer> family = new HashSet<>(chargeFamilyIndex.getFamily(itemNameCache.getBaseName(itemId)));
+		family.remove(itemId);
+		return family;
+	}
+
+	/**
+	 * Check if a layout can hold a variant of an item: it has a variant group, or it is charged and charge
+	 * variants are detected. Nothing can sync for any other item, which is most deposits.
+	 */
+	private boolean canHaveVariants(int itemId)
+	{
+		return variantMapping.groupIdOf(itemId) != ItemVariantMapping.NO_GROUP
+			|| (settings.detectChargeVariants() && ChargeVariantDetector.isChargedItem(itemNameCache.getName(itemId)));
+	}
+
+	/**
+	 * Get the standardized tags of an item's variant group, or the tags it is being replanned in,
+	 * resolving them once per sync. Items that can't have variants have none.
+	 */
+	private Set<String> resolveCandidateTags(int itemId, Map<Integer, Set<String>> resolved)
+	{
+		return resolved.computeIfAbsent(itemId, id -> {
+			if (!canHaveVariants(id))
+			{
+				return Collections.emptySet();
+			}
+
+			Set<String> replan = replanTags.get(id);
+			if (replan != null)
+			{
+				return new HashSet<>(replan);
+			}
+
+			Set<String> tags = new HashSet<>();
+			candidateTagResolver.resolve(id, tags);
+			return tags;
+		});
+	}
+
+	/**
+	 * Check if an item's variant group is tagged with a tag.
+	 */
+	private boolean isInTag(int itemId, String standardizedTag, Map<Integer, Set<String>> resolved)
+	{
+		return standardizedTag != null && resolveCandidateTags(itemId, resolved).contains(standardizedTag);
+	}
+
+	/**
+	 * Add the items of the given tags' layouts to the charge families, for when the layout index
+	 * isn't built. Tags already in indexed are skipped, and the rest are added to it.
+	 */
+	private void indexChargeFamilies(Set<String> tags, Set<String> indexed)
+	{
+		for (String tag : tags)
+		{
+			if (!indexed.add(tag))
+			{
+				continue;
+			}
+
+			String layout = getLayoutSource(tag).getLayout();
+			if (layout == null || layout.isEmpty())
+			{
+				continue;
+			}
+
+			LayoutParser.parseLayout(layout, scratchLayout);
+			for (int pos = 0; pos <= scratchLayout.maxPosition(); pos++)
+			{
+				int itemId = scratchLayout.getItem(pos);
+				if (itemId > 0)
+				{
+					chargeFamilyIndex.add(itemId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Queue a sync plan's layout changes to be written over the next ticks, unless a layout changed
+	 * while it was being planned, in which case its items are queued to be planned again.
+	 */
+	private void commitSyncPlan(SyncPlan plan)
+	{
+		planInFlight = false;
+
+		SyncRequest request = plan.getRequest();
+		if (request.getLayoutVersion() != layoutVersion)
+		{
+			log.debug("Layouts changed while planning (version {} -> {}), replanning", request.getLayoutVersion(), layoutVersion);
+			requeue(request, request.getNewItemIds());
+			return;
+		}
+
+		for (int newItemId : request.getNewItemIds())
+		{
+			replanTags.remove(newItemId);
+		}
+		for (SyncPlan.LayoutChange change : plan.getLayoutChanges())
+		{
+			pendingLayoutChanges.add(change);
+		}
+	}
+
+	/**
+	 * Write one planned layout change, unless its layout changed since it was planned.
+	 */
+	private void commitLayoutChange(SyncPlan.LayoutChange change)
+	{
+		LayoutSource planned = change.getSource();
+		if (!getLayoutSource(change.getTagName()).matches(planned.getGroup(), planned.getLayout()))
+		{
+			log.debug("Layout for '{}' changed since it was planned, replanning", change.getTagName());
+			replan(change);
+			return;
+		}
+
+		// Cache what is written first, so the change notification for this write is recognised as our own
+		// rather than bumping the layout version and failing the next plan
+		String standardizedTag = planned.getStandardizedTag();
+		layoutSources.put(standardizedTag,
+			new LayoutSource(standardizedTag, planned.getConfigKey(), planned.getGroup(), change.getLayout()));
+		layoutStore.save(planned, change.getLayout());
+		writtenChanges.put(standardizedTag, change);
+		if (layoutIndex.isBuilt() || layoutIndex.isBuilding())
+		{
+			updateLayoutIndex(standardizedTag, change.getLayout());
+		}
+
+		long latency = System.nanoTime() - change.getRequest().getQueuedAtNanos();
+		metrics.record(SyncMetrics.Stage.DEPOSIT_TO_SYNC, latency);
+		metrics.increment(SyncMetrics.Counter.LAYOUTS_TOUCHED);
+		log.debug("Synced '{}' {} ms after deposit", change.getTagName(), TimeUnit.NANOSECONDS.toMillis(latency));
+		for (String message : change.getNotifications())
+		{
+			log.info(message);
+			notifier.send(message);
+		}
+	}
+
+	/**
+	 * Queue the items of a layout change to be planned again in its tag only; the request's other layouts
+	 * may already be written.
+	 */
+	private void replan(SyncPlan.LayoutChange change)
+	{
+		String standardizedTag = change.getSource().getStandardizedTag();
+		for (int itemId : change.getItemIds())
+		{
+			replanTags.computeIfAbsent(itemId, k -> new HashSet<>()).add(standardizedTag);
+		}
+		requeue(change.getRequest(), change.getItemIds());
+	}
+
+	/**
+	 * Queue some of a request's items to be planned again.
+	 */
+	private void requeue(SyncRequest request, int[] itemIds)
+	{
+		for (int newItemId : itemIds)
+		{
+			pendingNewItems.add(newItemId);
+		}
+		if (pendingAllBankItems.length == 0)
+		{
+			pendingAllBankItems = request.getBankItems();
+		}
+		processPending = true;
+		syncReadiness.itemsRequeued(request.getQueuedAtNanos());
+	}
+
+	/**
+	 * Handle tag operations for a variant: copy tags to new item and remove from old.
+	 */
+	private void handleVariantTags(int newItemId, Set<Integer> variantGroup, int[] allBankItems)
+	{
+		SyncEvents.TagMigration event = new SyncEvents.TagMigration();
+		event.begin();
+
+		// Find a variant that has tags and is no longer in the bank (was replaced)
+		for (int variantId : variantGroup)
+		{
+			if (variantId == newItemId)
+			{
+				continue;
+			}
+
+			String oldTags = tagStore.getTags(variantId);
+			if (oldTags != null && !oldTags.isEmpty())
+			{
+				// Check if this variant is gone from bank (user swapped it)
+				if (!BankSnapshot.contains(allBankItems, allBankItems.length, variantId))
+				{
+					// Copy tags to new item
+					String existingNewTags = tagStore.getTags(newItemId);
+					if (existingNewTags == null || existingNewTags.isEmpty())
+					{
+						tagStore.setTags(newItemId, oldTags);
+						log.info("Copied tags '{}' from item {} to item {}", oldTags, variantId, newItemId);
+					}
+
+					// Remove tags from old item (if enabled)
+					boolean removeOldTags = settings.removeOldTags();
+					if (removeOldTags)
+					{
+						tagStore.removeTags(variantId);
+						log.info("Removed tags from old variant: {}", variantId);
+					}
+
+					event.end();
+					if (event.shouldCommit())
+					{
+						event.itemId = newItemId;
+						event.oldItemId = variantId;
+						event.tags = oldTags;
+						event.oldTagsRemoved = removeOldTags;
+						event.commit();
+					}
+					return; // Only process one old variant
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get where a tag's layout lives, resolving and caching it on first use.
+	 */
+	private LayoutSource getLayoutSource(String tagName)
+	{
+		String standardizedTag = standardizeTag(tagName);
+		LayoutSource source = layoutSources.get(standardizedTag);
+		if (source == null)
+		{
+			source = layoutStore.load(standardizedTag);
+			layoutSources.put(standardizedTag, source);
+		}
+		return source;
+	}
+
+	private String standardizeTag(String tagName)
+	{
+		return standardizedTags.computeIfAbsent(tagName, layoutStore::standardizeTag);
+	}
+}
@@ -0,0 +1,38 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.LayoutMode;
+
+/**
+ * The settings a sync reads. They are read at the start of every sync, so changes apply to the next one.
+ * The defaults match the plugin's config defaults.
+ */
+public interface SyncSettings
+{
+	default LayoutMode layoutMode()
+	{
+		return LayoutMode.REPLACE;
+	}
+
+	default boolean adjacentWhenOccupied()
+	{
+		return false;
+	}
+
+	default boolean detectChargeVariants()
+	{
+		return false;
+	}
+
+	default boolean removeOldTags()
+	{
+		return false;
+	}
+
+	/**
+	 * Get the client-thread time a sync may use per tick, in milliseconds.
+	 */
+	default int tickBudget()
+	{
+		return 2;
+	}
+}
@@ -0,0 +1,16 @@
+package com.bankslotsync.core;
+
+/**
+ * The bank tags assigned to each item, as a comma-separated list of tag names.
+ */
+public interface TagStore
+{
+	/**
+	 * Get the tags of an item, or null if it has none.
+	 */
+	String getTags(int itemId);
+
+	void setTags(int itemId, String tags);
+
+	void removeTags(int itemId);
+}
@@ -0,0 +1,153 @@
+package com.bankslotsync;
+
+import com.bankslotsync.core.InMemoryItemNameSource;
+import com.bankslotsync.core.InMemoryLayoutStore;
+import com.bankslotsync.core.InMemoryNotifier;
+import com.bankslotsync.core.InMemoryTagStore;
+import com.bankslotsync.core.SyncEngine;
+import com.bankslotsync.core.SyncSettings;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class BankSnapshotTest
+{
+	private static final int BANK_SIZE = 800;
+	private static final int GRACEFUL_HOOD = 11850;
+	private static final int GRACEFUL_HOOD_ARCEUUS = 13579;
+
+	@Test
+	public void testRoundTrip()
+	{
+		int[] bank = syntheticBank(BANK_SIZE, 1);
+		String encoded = BankSnapshot.encode(bank, bank.length);
+
+		assertArrayEquals(bank, BankSnapshot.decode(encoded));
+		assertTrue("baseline should stay compact, was " + encoded.length() + " chars", encoded.length() < BANK_SIZE * 2);
+	}
+
+	@Test
+	public void testDecodeRejectsGarbage()
+	{
+		assertNull(BankSnapshot.decode(null));
+		assertNull(BankSnapshot.decode(""));
+		assertNull(BankSnapshot.decode("not base64!"));
+		assertNull(BankSnapshot.decode("AgE="));
+	}
+
+	@Test
+	public void testDiff()
+	{
+		// Bank order, with an empty slot and a duplicate ID
+		int[] current = {995, -1, 4151, 11802, 995, 6570};
+		int currentLength = BankSnapshot.sortDistinct(current, current.length);
+		assertArrayEquals(new int[]{995, 4151, 6570, 11802}, Arrays.copyOf(current, currentLength));
+
+		int[] previous = {995, 1038, 4151};
+		int[] added = new int[currentLength];
+		int addedLength = BankSnapshot.findAdded(current, currentLength, previous, previous.length, added);
+		assertArrayEquals(new int[]{6570, 11802}, Arrays.copyOf(added, addedLength));
+
+		int removed = BankSnapshot.findAdded(previous, previous.length, current, currentLength, null);
+		assertEquals(1, removed);
+	}
+
+	@Test
+	public void testFingerprintIgnoresOrderOnly()
+	{
+		int[] bank = {995, 4151, 20594, 20594};
+		int[] rearranged = {20594, 4151, 20594, 995};
+		int[] fillerRemoved = {995, 4151, 20594, 6570};
+
+		assertEquals(fingerprint(bank), fingerprint(rearranged));
+		assertTrue(fingerprint(bank) != fingerprint(fillerRemoved));
+	}
+
+	@Test
+	public void testColdStartTick()
+	{
+		// A large bank holding a tagged Graceful hood, stored as the baseline at logout
+		int[] bank = syntheticBank(BANK_SIZE, 2);
+		bank[0] = GRACEFUL_HOOD;
+		int bankLength = BankSnapshot.sortDistinct(bank, bank.length);
+		bank = Arrays.copyOf(bank, bankLength);
+		String stored = BankSnapshot.encode(bank, bank.length);
+
+		// The first bank event after login holds the same bank and one new item
+		int[] current = Arrays.copyOf(bank, bank.length + 1);
+		current[bank.length] = GRACEFUL_HOOD_ARCEUUS;
+
+		// With the baseline restored only the new item is queued, and it syncs nothing while the old hood
+		// is still in the bank
+		assertEquals(1, coldStartItemsProcessed(BankSnapshot.decode(stored), current));
+
+		// Without one every variant in the bank is queued as new
+		assertTrue(coldStartItemsProcessed(null, current) > 1);
+	}
+
+	/**
+	 * Run the first bank event and sync after login through a sync engine, returning how many items it
+	 * processed. The sync must not write any layout.
+	 */
+	private static long coldStartItemsProcessed(int[] baseline, int[] bank)
+	{
+		InMemoryLayoutStore layoutStore = new InMemoryLayoutStore();
+		InMemoryTagStore tagStore = new InMemoryTagStore();
+		layoutStore.setTagTabs(Collections.singletonList("Gear"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear", String.valueOf(GRACEFUL_HOOD));
+		tagStore.setTags(GRACEFUL_HOOD, "gear");
+
+		SyncMetrics metrics = new SyncMetrics();
+		SyncEngine engine = new SyncEngine(new ItemVariantMapping(), layoutStore, tagStore, new InMemoryItemNameSource(),
+			new InMemoryNotifier(), new SyncSettings()
+			{
+				@Override
+				public int tickBudget()
+				{
+					return 1000;
+				}
+			}, metrics, Runnable::run, Runnable::run);
+		if (baseline != null)
+		{
+			engine.loadBankBaseline(baseline);
+		}
+
+		engine.onBankChanged(bank, bank.length, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+		assertEquals(0, engine.runSync(11, null));
+		assertEquals(0, layoutStore.getWrites());
+		return metrics.get(SyncMetrics.Counter.ITEMS_PROCESSED);
+	}
+
+	private static long fingerprint(int[] bank)
+	{
+		long fingerprint = 0;
+		for (int itemId : bank)
+		{
+			fingerprint += BankSnapshot.fingerprint(itemId);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Get a sorted, distinct synthetic bank.
+	 */
+	private static int[] syntheticBank(int size, long seed)
+	{
+		Random random = new Random(seed);
+		int[] bank = new int[size];
+		int length = 0;
+		while (length < size)
+		{
+			bank[length] = 1 + random.nextInt(29_000);
+			length = BankSnapshot.sortDistinct(bank, length + 1);
+		}
+		return bank;
+	}
+}
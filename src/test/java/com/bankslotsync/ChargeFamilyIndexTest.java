@@ -0,0 +1,86 @@
+package com.bankslotsync;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ChargeFamilyIndexTest
+{
+	private static final int GAMES_NECKLACE_8 = 3853;
+	private static final int GAMES_NECKLACE_1 = 3867;
+	private static final int GLORY_6 = 11978;
+	private static final int GLORY = 1704;
+	private static final int AHRIMS_ROBETOP_100 = 4898;
+	private static final int AHRIMS_ROBETOP = 4712;
+
+	private final Map<Integer, String> names = new HashMap<>();
+	private int lookups = 0;
+
+	private String baseName(int itemId)
+	{
+		lookups++;
+		return ChargeVariantDetector.getNormalizedBaseName(names.get(itemId));
+	}
+
+	@Test
+	public void testAddIsResolvedOnce()
+	{
+		names.put(GAMES_NECKLACE_8, "Games necklace(8)");
+		names.put(GAMES_NECKLACE_1, "Games necklace(1)");
+
+		ChargeFamilyIndex index = new ChargeFamilyIndex();
+		index.add(GAMES_NECKLACE_8);
+		index.add(GAMES_NECKLACE_8);
+		index.add(-1);
+
+		// Nothing is indexed until the queue is resolved
+		assertTrue(index.getFamily("games necklace").isEmpty());
+
+		index.resolvePending(this::baseName);
+		assertEquals(1, lookups);
+		assertEquals(Collections.singleton(GAMES_NECKLACE_8), index.getFamily("games necklace"));
+
+		// Indexed items aren't looked up again
+		index.add(GAMES_NECKLACE_8);
+		index.add(GAMES_NECKLACE_1);
+		index.resolvePending(this::baseName);
+		assertEquals(2, lookups);
+		assertEquals(new HashSet<>(Arrays.asList(GAMES_NECKLACE_8, GAMES_NECKLACE_1)), index.getFamily("games necklace"));
+
+		index.clear();
+		assertTrue(index.getFamily("games necklace").isEmpty());
+	}
+
+	@Test
+	public void testFamiliesShareNormalizedBaseName()
+	{
+		names.put(GLORY_6, "Amulet of glory(6)");
+		names.put(GLORY, "Amulet of Glory");
+		names.put(AHRIMS_ROBETOP_100, "Ahrim's robetop 100");
+		names.put(AHRIMS_ROBETOP, "Ahrim's robetop");
+
+		ChargeFamilyIndex index = new ChargeFamilyIndex();
+		for (int itemId : names.keySet())
+		{
+			index.add(itemId);
+		}
+		index.resolvePending(this::baseName);
+
+		// Charged and uncharged names meet under the same lowercased base name
+		assertEquals(new HashSet<>(Arrays.asList(GLORY_6, GLORY)),
+			index.getFamily(ChargeVariantDetector.getNormalizedBaseName("Amulet of glory(4)")));
+		assertEquals(new HashSet<>(Arrays.asList(AHRIMS_ROBETOP_100, AHRIMS_ROBETOP)),
+			index.getFamily(ChargeVariantDetector.getNormalizedBaseName("Ahrim's robetop 0")));
+		assertTrue(index.getFamily("games necklace").isEmpty());
+		assertTrue(index.getFamily(null).isEmpty());
+
+		LayoutParser.Layout layout = LayoutParser.parseLayout("995,11978,-1,1704");
+		assertEquals(3, ChargeFamilyIndex.findPosition(layout, index.getFamily("amulet of glory"), GLORY_6));
+		assertEquals(-1, ChargeFamilyIndex.findPosition(layout, index.getFamily("ahrim's robetop"), AHRIMS_ROBETOP));
+	}
+}
@@ -0,0 +1,51 @@
+package com.bankslotsync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ChargeVariantDetectorTest
+{
+	// Item name, then the base name in front of its charge suffix, or null if it has none
+	private static final String[][] SUFFIXES = {
+		{"Games necklace(4)", "Games necklace"},
+		{"Amulet of glory (6)", "Amulet of glory"},
+		{"Dragon pickaxe(100)", "Dragon pickaxe"},
+		{"Ahrim's robetop 100", "Ahrim's robetop"},
+		{"Ahrim's robetop 0", "Ahrim's robetop"},
+		{"Crystal bow (new)", "Crystal bow"},
+		{"Crystal shield (inactive)", "Crystal shield"},
+		{"Crystal bow (i)", null},
+		{"Ring of suffering (uncharged)", null},
+		{"Bracelet of slaughter (empty)", null},
+		{"Rune platebody 90", null},
+		{"Amulet of glory", null},
+		{"(4)", null},
+		{"", null},
+	};
+
+	@Test
+	public void testSuffixes()
+	{
+		for (String[] row : SUFFIXES)
+		{
+			String name = row[0];
+			String baseName = row[1];
+			assertEquals(name, baseName, ChargeVariantDetector.extractBaseName(name));
+			assertEquals(name, baseName != null, ChargeVariantDetector.isChargedItem(name));
+			assertEquals(name, (baseName != null ? baseName : name).toLowerCase(), ChargeVariantDetector.getNormalizedBaseName(name));
+		}
+	}
+
+	@Test
+	public void testChargeVariants()
+	{
+		assertTrue(ChargeVariantDetector.areChargeVariants("Games necklace(8)", "games necklace(1)"));
+		assertTrue(ChargeVariantDetector.areChargeVariants("Amulet of glory(4)", "Amulet of glory"));
+		assertFalse(ChargeVariantDetector.areChargeVariants("Amulet of glory", "Amulet of glory"));
+		assertFalse(ChargeVariantDetector.areChargeVariants("Crystal bow (i)", "Crystal bow"));
+		assertFalse(ChargeVariantDetector.areChargeVariants("Games necklace(8)", "Ring of dueling(8)"));
+		assertFalse(ChargeVariantDetector.areChargeVariants("Games necklace(8)", null));
+	}
+}
@@ -0,0 +1,141 @@
+package com.bankslotsync;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ConfigWriteBufferTest
+{
+	private static final String GROUP = "banktags";
+
+	private final Map<String, String> stored = new HashMap<>();
+	private final List<String> written = new ArrayList<>(); // Keys, in write order
+
+	private final SyncMetrics metrics = new SyncMetrics();
+	private final ConfigWriteBuffer buffer = new ConfigWriteBuffer(new ConfigWriteBuffer.Config()
+	{
+		@Override
+		public String get(String group, String key)
+		{
+			return stored.get(group + "." + key);
+		}
+
+		@Override
+		public void set(String group, String key, String value)
+		{
+			written.add(key);
+			stored.put(group + "." + key, value);
+		}
+
+		@Override
+		public void unset(String group, String key)
+		{
+			written.add(key);
+			stored.remove(group + "." + key);
+		}
+	}, metrics);
+
+	@Test
+	public void testCoalescesWritesToOneKey()
+	{
+		buffer.set(GROUP, "layout_gear", "1");
+		buffer.set(GROUP, "layout_gear", "1,2");
+		buffer.set(GROUP, "layout_gear", "1,2,3");
+		buffer.flush();
+
+		assertEquals(Collections.singletonList("layout_gear"), written);
+		assertEquals("1,2,3", stored.get(GROUP + ".layout_gear"));
+		assertEquals(1, metrics.get(SyncMetrics.Counter.WRITES_FLUSHED));
+		assertFalse(buffer.hasPendingWrites());
+	}
+
+	@Test
+	public void testSkipsWritesOfTheStoredValue()
+	{
+		stored.put(GROUP + ".layout_gear", "1,2");
+
+		// Dropped when queued
+		buffer.set(GROUP, "layout_gear", "1,2");
+		assertFalse(buffer.hasPendingWrites());
+
+		// Changed and changed back within a tick, so dropped when flushed
+		buffer.set(GROUP, "layout_gear", "2,1");
+		buffer.set(GROUP, "layout_gear", "1,2");
+		buffer.flush();
+
+		assertTrue(written.isEmpty());
+		assertEquals(2, metrics.get(SyncMetrics.Counter.WRITES_SKIPPED));
+	}
+
+	@Test
+	public void testGetSeesPendingWrites()
+	{
+		stored.put(GROUP + ".item_995", "money");
+		buffer.set(GROUP, "item_995", "money,gear");
+
+		assertEquals("money,gear", buffer.get(GROUP, "item_995"));
+		assertEquals("money", stored.get(GROUP + ".item_995"));
+	}
+
+	@Test
+	public void testUnset()
+	{
+		stored.put(GROUP + ".item_995", "money");
+		buffer.unset(GROUP, "item_995");
+		assertNull(buffer.get(GROUP, "item_995"));
+
+		buffer.flush();
+		assertEquals(Collections.singletonList("item_995"), written);
+		assertFalse(stored.containsKey(GROUP + ".item_995"));
+	}
+
+	@Test
+	public void testBudgetedFlushKeepsOrder()
+	{
+		buffer.set(GROUP, "layout_a", "1");
+		buffer.set(GROUP, "layout_b", "2");
+		buffer.set(GROUP, "layout_c", "3");
+		buffer.set(GROUP, "layout_a", "4");
+
+		// A passed deadline writes one value per flush, in first-write order
+		buffer.flush(System.nanoTime());
+		assertEquals(Collections.singletonList("layout_a"), written);
+		buffer.flush(System.nanoTime());
+		assertEquals(Arrays.asList("layout_a", "layout_b"), written);
+
+		buffer.flush(System.nanoTime() + 1_000_000_000L);
+		assertEquals(Arrays.asList("layout_a", "layout_b", "layout_c"), written);
+		assertEquals("4", stored.get(GROUP + ".layout_a"));
+		assertFalse(buffer.hasPendingWrites());
+	}
+
+	@Test
+	public void testExternalWriteBetweenBudgetedFlushes()
+	{
+		buffer.set(GROUP, "layout_gear", "1,2");
+		buffer.set(GROUP, "layout_skilling", "3,4");
+
+		// A deadline that has already passed still writes one value
+		buffer.flush(System.nanoTime());
+		assertEquals("1,2", stored.get(GROUP + ".layout_gear"));
+		assertTrue(buffer.hasPendingWrites());
+
+		// Bank Tags writes the other layout before the next flush; its value wins
+		stored.put(GROUP + ".layout_skilling", "4,3");
+		assertTrue(buffer.discard(GROUP, "layout_skilling"));
+		assertEquals("4,3", buffer.get(GROUP, "layout_skilling"));
+
+		buffer.flush(System.nanoTime());
+		assertEquals("4,3", stored.get(GROUP + ".layout_skilling"));
+		assertEquals(Collections.singletonList("layout_gear"), written);
+		assertFalse(buffer.discard(GROUP, "layout_skilling"));
+	}
+}
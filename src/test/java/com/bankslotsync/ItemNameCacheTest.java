@@ -0,0 +1,90 @@
+package com.bankslotsync;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class ItemNameCacheTest
+{
+	private final Map<Integer, String> names = new HashMap<>();
+	private int lookups = 0;
+
+	private final ItemNameCache cache = new ItemNameCache(itemId ->
+	{
+		lookups++;
+		return names.get(itemId);
+	});
+
+	@Test
+	public void testHitsAndMisses()
+	{
+		names.put(995, "Coins");
+		names.put(11978, "Amulet of glory(6)");
+
+		assertEquals("Coins", cache.getName(995));
+		assertEquals("Coins", cache.getName(995));
+		assertEquals("amulet of glory", cache.getBaseName(11978));
+		assertEquals("Amulet of glory(6)", cache.getName(11978));
+		assertEquals(2, lookups);
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getMisses());
+
+		cache.clear();
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertEquals("coins", cache.getBaseName(995));
+		assertEquals(3, lookups);
+	}
+
+	@Test
+	public void testItemsWithoutNamesAreCached()
+	{
+		assertNull(cache.getName(12345));
+		assertNull(cache.getName(12345));
+		assertNull(cache.getBaseName(12345));
+		assertEquals(1, lookups);
+		assertEquals(2, cache.getHits());
+	}
+
+	@Test
+	public void testOnlyIdsUpToTheBoundAreCached()
+	{
+		names.put(ItemNameCache.MAX_CACHED_ITEM_ID, "Last");
+		names.put(ItemNameCache.MAX_CACHED_ITEM_ID + 1, "Past the end");
+
+		cache.getName(ItemNameCache.MAX_CACHED_ITEM_ID);
+		assertEquals("Last", cache.getName(ItemNameCache.MAX_CACHED_ITEM_ID));
+		assertEquals(1, lookups);
+
+		// Looked up every time, and counted as a miss
+		cache.getName(ItemNameCache.MAX_CACHED_ITEM_ID + 1);
+		assertEquals("Past the end", cache.getName(ItemNameCache.MAX_CACHED_ITEM_ID + 1));
+		assertEquals(3, lookups);
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+
+		assertNull(cache.getName(-1));
+		assertNull(cache.getName(0));
+		assertEquals(5, lookups);
+	}
+
+	@Test
+	public void testPrefetch()
+	{
+		names.put(995, "Coins");
+		names.put(4151, "Abyssal whip");
+
+		cache.prefetch(Arrays.asList(995, 4151, 12345, 995));
+		assertEquals(3, lookups);
+		assertEquals(0, cache.getMisses());
+
+		assertEquals("Coins", cache.getName(995));
+		assertEquals("abyssal whip", cache.getBaseName(4151));
+		assertNull(cache.getName(12345));
+		assertEquals(3, lookups);
+		assertEquals(3, cache.getHits());
+	}
+}
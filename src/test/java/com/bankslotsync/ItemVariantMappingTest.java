@@ -0,0 +1,99 @@
+package com.bankslotsync;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ItemVariantMappingTest
+{
+	private final ItemVariantMapping mapping = new ItemVariantMapping();
+
+	@Test
+	public void testNoUnreviewedGroupOverlaps() throws IOException
+	{
+		Set<Integer> reviewed = readReviewedOverlaps();
+
+		List<String> unreviewed = new ArrayList<>();
+		for (int itemId : mapping.getOverlappingItemIds())
+		{
+			if (!reviewed.remove(itemId))
+			{
+				unreviewed.add(itemId + " merged into " + mapping.getVariantGroup(itemId));
+			}
+		}
+
+		assertTrue("Item IDs listed in more than one variant group (fix the ID, or add it to "
+			+ "reviewed_variant_overlaps.txt if the merge is intended): " + unreviewed, unreviewed.isEmpty());
+		assertTrue("Reviewed overlaps no longer listed in more than one variant group: " + reviewed,
+			reviewed.isEmpty());
+	}
+
+	@Test
+	public void testUnrelatedItemsAreNotVariants()
+	{
+		// Zamorak kiteshield and Rune platelegs
+		assertFalse(mapping.areVariants(2659, 1079));
+		// Studded body (t) and Rune full helm
+		assertFalse(mapping.areVariants(7362, 1163));
+		// Black d'hide body and Red d'hide body
+		assertFalse(mapping.areVariants(2503, 2501));
+		// Amulet of glory (4) and Amulet of eternal glory, the one reviewed merge
+		assertTrue(mapping.areVariants(1712, 19707));
+	}
+
+	@Test
+	public void testEveryMemberResolvesToItsOwnGroup()
+	{
+		for (int groupId = 0; groupId < mapping.getGroupCount(); groupId++)
+		{
+			final int expected = groupId;
+			mapping.forEachMember(groupId, itemId ->
+				assertEquals("group of item " + itemId, expected, mapping.groupIdOf(itemId)));
+		}
+	}
+
+	@Test
+	public void testAddVariantGroupMergesWithExistingGroups()
+	{
+		// Graceful hood (default) and Graceful cape (default)
+		mapping.addVariantGroup(11850, 11852);
+
+		// Graceful hood (Arceuus) and Graceful cape (Arceuus)
+		assertTrue(mapping.areVariants(13579, 13581));
+		assertEquals(mapping.groupIdOf(13579), mapping.groupIdOf(13581));
+		assertNotNull(mapping.getVariantGroup(11852));
+		assertTrue(mapping.getVariantGroup(11852).contains(13579));
+	}
+
+	private static Set<Integer> readReviewedOverlaps() throws IOException
+	{
+		Set<Integer> ids = new HashSet<>();
+		try (InputStream in = ItemVariantMappingTest.class.getResourceAsStream("reviewed_variant_overlaps.txt"))
+		{
+			assertNotNull("reviewed_variant_overlaps.txt is missing", in);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				int comment = line.indexOf('#');
+				String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+				if (!content.isEmpty())
+				{
+					ids.add(Integer.parseInt(content));
+				}
+			}
+		}
+		return ids;
+	}
+}
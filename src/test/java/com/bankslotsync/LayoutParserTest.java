@@ -0,0 +1,99 @@
+package com.bankslotsync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LayoutParserTest
+{
+	@Test
+	public void testCountsMalformedEntries()
+	{
+		LayoutParser.Layout layout = new LayoutParser.Layout(false);
+
+		// Built-in: a word and an overflowing ID are malformed, blank and empty slots are not
+		assertEquals(2, LayoutParser.parseLayout("995,abc,,4151, 12 ,-1,99999999999", layout));
+		assertEquals(3, layout.size());
+		assertEquals(995, layout.getItem(0));
+		assertEquals(4151, layout.getItem(3));
+		assertEquals(12, layout.getItem(4));
+
+		// External: pairs that don't parse are malformed, entries that aren't pairs are ignored
+		assertEquals(2, LayoutParser.parseLayout("995:0,x:1,4151:2,3:y,junk", layout));
+		assertEquals(2, layout.size());
+		assertEquals(995, layout.getItem(0));
+		assertEquals(4151, layout.getItem(2));
+	}
+
+	@Test
+	public void testPositionCap()
+	{
+		LayoutParser.Layout layout = new LayoutParser.Layout(true);
+		assertEquals(1, LayoutParser.parseLayout("995:" + LayoutParser.MAX_POSITION + ",4151:" + (LayoutParser.MAX_POSITION + 1), layout));
+		assertEquals(LayoutParser.MAX_POSITION, layout.maxPosition());
+		assertEquals(995, layout.getItem(LayoutParser.MAX_POSITION));
+
+		// Nothing moves past the cap
+		layout.setItem(LayoutParser.MAX_POSITION + 1, 4151);
+		layout.insertAt(0, 4151);
+		assertFalse(layout.containsItem(4151));
+
+		assertEquals(1, LayoutParser.parseLayout("-1,".repeat(LayoutParser.MAX_POSITION + 1) + "995", layout));
+		assertEquals(0, layout.size());
+	}
+
+	@Test
+	public void testRoundTrip()
+	{
+		LayoutParser.Layout builtIn = LayoutParser.parseLayout("995,-1,4151");
+		assertFalse(builtIn.isExternalFormat());
+		assertEquals("995,-1,4151", builtIn.serialize());
+
+		// External layouts are written back in position order
+		LayoutParser.Layout external = LayoutParser.parseLayout("4151:2,995:0");
+		assertTrue(external.isExternalFormat());
+		assertEquals("995:0,4151:2", external.serialize());
+
+		assertEquals(builtIn.getPositionToItem(), external.getPositionToItem());
+		assertEquals("", LayoutParser.parseLayout("").serialize());
+	}
+
+	@Test
+	public void testInsertAtSameRow()
+	{
+		// An empty slot is filled without shifting
+		LayoutParser.Layout layout = LayoutParser.parseLayout("1,-1,3");
+		layout.insertAtSameRow(1, 100);
+		assertEquals("1,100,3", layout.serialize());
+
+		// Items after the position shift right
+		layout = LayoutParser.parseLayout("1,2,3,-1,-1,-1,-1,-1,9");
+		layout.insertAtSameRow(1, 100);
+		assertEquals("1,100,2,3,-1,-1,-1,-1,9", layout.serialize());
+
+		// On a full row the last item is displaced to the end of the layout; the next row stays put
+		layout = LayoutParser.parseLayout("1,2,3,4,5,6,7,8,9");
+		layout.insertAtSameRow(2, 100);
+		assertEquals("1,2,100,3,4,5,6,7,9,8", layout.serialize());
+		assertEquals(9, layout.findItemPosition(8));
+		assertEquals(2, layout.findItemPosition(100));
+	}
+
+	@Test
+	public void testInsertAt()
+	{
+		LayoutParser.Layout layout = LayoutParser.parseLayout("1,2,3");
+		layout.insertAt(1, 100);
+		assertEquals("1,100,2,3", layout.serialize());
+		assertEquals(3, layout.findItemPosition(3));
+
+		// Past the end, the gap is kept as empty slots
+		layout.insertAt(6, 200);
+		assertEquals("1,100,2,3,-1,-1,200", layout.serialize());
+
+		LayoutParser.Layout external = LayoutParser.parseLayout("1:0,2:1");
+		external.insertAt(0, 100);
+		assertEquals("100:0,1:1,2:2", external.serialize());
+	}
+}
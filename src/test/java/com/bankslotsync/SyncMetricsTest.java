@@ -0,0 +1,77 @@
+package com.bankslotsync;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class SyncMetricsTest
+{
+	private final SyncMetrics metrics = new SyncMetrics();
+
+	// 80 samples in the 5 us bucket, 15 in the 50 us bucket and 5 in the 5 ms bucket
+	private void recordMutations()
+	{
+		for (int i = 0; i < 80; i++)
+		{
+			metrics.record(SyncMetrics.Stage.MUTATION, TimeUnit.MICROSECONDS.toNanos(3));
+		}
+		for (int i = 0; i < 15; i++)
+		{
+			metrics.record(SyncMetrics.Stage.MUTATION, TimeUnit.MICROSECONDS.toNanos(40));
+		}
+		for (int i = 0; i < 5; i++)
+		{
+			metrics.record(SyncMetrics.Stage.MUTATION, TimeUnit.MICROSECONDS.toNanos(3_000));
+		}
+	}
+
+	@Test
+	public void testPercentiles()
+	{
+		SyncMetrics.Histogram histogram = metrics.getHistogram(SyncMetrics.Stage.MUTATION);
+		assertEquals(0, histogram.getPercentileMicros(50));
+
+		recordMutations();
+		assertEquals(100, histogram.getCount());
+		assertEquals(5, histogram.getPercentileMicros(50));
+		assertEquals(50, histogram.getPercentileMicros(90));
+		assertEquals(5_000, histogram.getPercentileMicros(99));
+
+		// Past the last bound, the max is reported
+		metrics.record(SyncMetrics.Stage.MUTATION, TimeUnit.SECONDS.toNanos(3));
+		assertEquals(3_000_000, histogram.getPercentileMicros(100));
+
+		metrics.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentileMicros(99));
+	}
+
+	@Test
+	public void testDump() throws IOException
+	{
+		recordMutations();
+		metrics.add(SyncMetrics.Counter.ITEMS_PROCESSED, 7);
+
+		File file = File.createTempFile("metrics", ".csv");
+		file.deleteOnExit();
+		metrics.dump(file);
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+
+		assertEquals("stage,count,total_us,avg_us,p50_us,p90_us,p99_us,max_us"
+			+ ",le_1_us,le_2_us,le_5_us,le_10_us,le_20_us,le_50_us,le_100_us,le_200_us,le_500_us"
+			+ ",le_1000_us,le_2000_us,le_5000_us,le_10000_us,le_20000_us,le_50000_us,le_100000_us"
+			+ ",le_200000_us,le_500000_us,le_1000000_us,gt_1000000_us", lines.get(0));
+		assertEquals(SyncMetrics.Stage.values().length, lines.indexOf("") - 1);
+		assertEquals("MUTATION,100,15840,158,5,50,5000,3000,0,0,80,0,0,15,0,0,0,0,0,5,0,0,0,0,0,0,0,0",
+			lines.get(1 + SyncMetrics.Stage.MUTATION.ordinal()));
+		assertTrue(lines.contains("CONFIG_WRITE,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0"));
+		assertTrue(lines.contains("counter,value"));
+		assertTrue(lines.contains("ITEMS_PROCESSED,7"));
+	}
+}
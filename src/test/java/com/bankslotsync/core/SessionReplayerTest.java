@@ -0,0 +1,49 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.ItemVariantMapping;
+import java.io.IOException;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class SessionReplayerTest
+{
+	private static final int GRACEFUL_HOOD = 11850;
+	private static final int GRACEFUL_HOOD_ARCEUUS = 13579;
+	private static final int COINS = 995;
+
+	private final ItemVariantMapping variantMapping = new ItemVariantMapping();
+
+	@Test
+	public void testReplaySyncsRecordedSwap() throws IOException
+	{
+		SessionRecorder recorder = new SessionRecorder();
+		recorder.configChanged(100, "banktags", "tagtabs", "Gear");
+		recorder.configChanged(100, "banktags", "layout_gear", GRACEFUL_HOOD + "," + COINS);
+		recorder.configChanged(100, "banktags", "item_" + GRACEFUL_HOOD, "gear");
+		recorder.baseline(100, new int[]{COINS, GRACEFUL_HOOD});
+		recorder.bankChanged(101, new int[]{COINS, GRACEFUL_HOOD, 0}, 3);
+		recorder.bankChanged(102, new int[]{GRACEFUL_HOOD_ARCEUUS, COINS, 0}, 3);
+		recorder.itemName(GRACEFUL_HOOD_ARCEUUS, "Graceful hood");
+		recorder.signal(102);
+		recorder.sync(102, null);
+		recorder.sync(103, "Gear");
+		assertEquals(11, recorder.getRecordCount());
+
+		SessionReplayer replayer = SessionReplayer.fromBytes(variantMapping, recorder.drain());
+		SessionReplayer.Result result = replayer.replay();
+		assertEquals(11, result.getRecords());
+		assertEquals(4, result.getTicks());
+		assertEquals(1, result.getLayoutWrites());
+		assertEquals(1, result.getTagWrites());
+		assertEquals(1, result.getNotifications());
+
+		// Replays are deterministic
+		assertEquals(result.getDigest(), replayer.replay().getDigest());
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsOtherFiles() throws IOException
+	{
+		SessionReplayer.fromBytes(variantMapping, new byte[]{1, 2, 3, 4, 5});
+	}
+}
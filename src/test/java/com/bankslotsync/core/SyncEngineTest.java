@@ -0,0 +1,248 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.ItemVariantMapping;
+import com.bankslotsync.LayoutMode;
+import com.bankslotsync.SyncMetrics;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SyncEngineTest
+{
+	private static final int GRACEFUL_HOOD = 11850;
+	private static final int GRACEFUL_HOOD_ARCEUUS = 13579;
+	private static final int GRACEFUL_CAPE = 11852;
+	private static final int GRACEFUL_CAPE_ARCEUUS = 13581;
+	private static final int COINS = 995;
+	private static final int RING_8 = 40008; // Charged items with no variant group
+	private static final int RING_7 = 40007;
+
+	private final InMemoryLayoutStore layoutStore = new InMemoryLayoutStore();
+	private final InMemoryTagStore tagStore = new InMemoryTagStore();
+	private final InMemoryItemNameSource itemNames = new InMemoryItemNameSource();
+	private final InMemoryNotifier notifier = new InMemoryNotifier();
+	private final SyncSettings settings = new SyncSettings()
+	{
+	};
+	private SyncEngine engine;
+
+	@Before
+	public void before()
+	{
+		engine = new SyncEngine(new ItemVariantMapping(), layoutStore, tagStore, itemNames, notifier, settings,
+			new SyncMetrics(), Runnable::run, Runnable::run);
+		layoutStore.setListener(engine::onLayoutChanged);
+		layoutStore.setTagTabs(Collections.singletonList("Gear"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear", GRACEFUL_HOOD + "," + COINS);
+		itemNames.setName(GRACEFUL_HOOD_ARCEUUS, "Graceful hood");
+		tagStore.setTags(GRACEFUL_HOOD, "gear");
+		engine.loadBankBaseline(new int[]{COINS, GRACEFUL_HOOD});
+	}
+
+	@Test
+	public void testSwappedVariantTakesSlot()
+	{
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS, 0}, 3, 10);
+		assertTrue(engine.signalReady());
+
+		// The first sync plans, the next commits
+		engine.runSync(10, null);
+		assertEquals(1, engine.runSync(11, null));
+
+		assertEquals(GRACEFUL_HOOD_ARCEUUS + "," + COINS, layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear"));
+		assertEquals("gear", tagStore.getTags(GRACEFUL_HOOD_ARCEUUS));
+		assertEquals(Collections.singletonList("Synced Graceful hood to 'Gear' (slot 0)"), notifier.getMessages());
+	}
+
+	@Test
+	public void testSyncWaitsForReadiness()
+	{
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS}, 2, 10);
+		engine.runSync(10, null);
+		engine.runSync(11, null);
+		assertEquals(0, layoutStore.getWrites());
+
+		// Without a signal, the sync starts once the timeout has passed
+		engine.runSync(12, null);
+		engine.runSync(13, null);
+		assertEquals(1, layoutStore.getWrites());
+	}
+
+	@Test
+	public void testOnlyTaggedLayoutsAreRead()
+	{
+		layoutStore.setTagTabs(Arrays.asList("Gear", "Skilling", "Money"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling", String.valueOf(GRACEFUL_HOOD));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "money", String.valueOf(COINS));
+		engine.onTagTabsChanged();
+
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS}, 2, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+		assertEquals(1, engine.runSync(11, null));
+
+		// The old variant is only tagged "gear", so untagged layouts holding it are left alone
+		assertEquals(1, layoutStore.getReads());
+		assertEquals(String.valueOf(GRACEFUL_HOOD), layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling"));
+	}
+
+	@Test
+	public void testUnchangedBankDoesNothing()
+	{
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD, COINS}, 2, 10);
+		engine.signalReady();
+		assertEquals(0, engine.runSync(10, null));
+		assertEquals(0, engine.runSync(11, null));
+		assertEquals(0, layoutStore.getWrites());
+		assertNull(tagStore.getTags(GRACEFUL_HOOD_ARCEUUS));
+	}
+
+	@Test
+	public void testOwnWriteDoesNotDiscardNextPlan()
+	{
+		// Plans and change notifications arrive later, as they do in the client
+		Queue<Runnable> plans = new ArrayDeque<>();
+		Queue<Runnable> notifications = new ArrayDeque<>();
+		engine = new SyncEngine(new ItemVariantMapping(), layoutStore, tagStore, itemNames, notifier, settings,
+			new SyncMetrics(), plans::add, Runnable::run);
+		layoutStore.setListener((tag, group, layout) -> notifications.add(() -> engine.onLayoutChanged(tag, group, layout)));
+		layoutStore.setTagTabs(Arrays.asList("Gear", "Skilling"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling", String.valueOf(GRACEFUL_CAPE));
+		tagStore.setTags(GRACEFUL_CAPE, "skilling");
+		itemNames.setName(GRACEFUL_CAPE_ARCEUUS, "Graceful cape");
+		engine.loadBankBaseline(new int[]{COINS, GRACEFUL_HOOD, GRACEFUL_CAPE});
+
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS, GRACEFUL_CAPE}, 3, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+		plans.remove().run();
+		assertEquals(1, engine.runSync(11, null));
+
+		// The next deposit is planned before the notification of the last write arrives
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS, GRACEFUL_CAPE_ARCEUUS}, 3, 12);
+		engine.signalReady();
+		engine.runSync(12, null);
+		notifications.remove().run();
+		plans.remove().run();
+		assertEquals(1, engine.runSync(13, null));
+		assertEquals(String.valueOf(GRACEFUL_CAPE_ARCEUUS), layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling"));
+	}
+
+	@Test
+	public void testStaleChangeOnlyReplansItsLayout()
+	{
+		engine = new SyncEngine(new ItemVariantMapping(), layoutStore, tagStore, itemNames, notifier, new SyncSettings()
+		{
+			@Override
+			public LayoutMode layoutMode()
+			{
+				return LayoutMode.ADJACENT;
+			}
+		}, new SyncMetrics(), Runnable::run, Runnable::run);
+		layoutStore.setListener(engine::onLayoutChanged);
+		layoutStore.setTagTabs(Arrays.asList("Gear", "Skilling"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling", String.valueOf(GRACEFUL_HOOD));
+		tagStore.setTags(GRACEFUL_HOOD, "gear,skilling");
+		engine.loadBankBaseline(new int[]{COINS, GRACEFUL_HOOD});
+
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS}, 2, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+
+		// Skilling is rearranged after it was planned, so only its change goes stale
+		String skilling = COINS + "," + GRACEFUL_HOOD;
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling", skilling);
+		engine.onLayoutChanged("skilling", InMemoryLayoutStore.BUILT_IN_GROUP, skilling);
+		engine.runSync(11, null);
+		assertEquals(1, layoutStore.getWrites());
+		engine.runSync(12, null);
+		engine.runSync(13, null);
+
+		assertEquals(GRACEFUL_HOOD + "," + GRACEFUL_HOOD_ARCEUUS + "," + COINS,
+			layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear"));
+		assertEquals(skilling + "," + GRACEFUL_HOOD_ARCEUUS, layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling"));
+		assertEquals(2, layoutStore.getWrites());
+		assertEquals(2, notifier.getMessages().size());
+	}
+
+	@Test
+	public void testLayoutIndexIsBuiltATabPerTick()
+	{
+		engine = new SyncEngine(new ItemVariantMapping(), layoutStore, tagStore, itemNames, notifier, new SyncSettings()
+		{
+			@Override
+			public boolean detectChargeVariants()
+			{
+				return true;
+			}
+
+			@Override
+			public int tickBudget()
+			{
+				return 0;
+			}
+		}, new SyncMetrics(), Runnable::run, Runnable::run);
+		layoutStore.setListener(engine::onLayoutChanged);
+		layoutStore.setTagTabs(Arrays.asList("Gear", "Skilling", "Jewellery"));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "skilling", String.valueOf(COINS));
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "jewellery", String.valueOf(RING_8));
+		itemNames.setName(RING_8, "Ring of testing(8)");
+		itemNames.setName(RING_7, "Ring of testing(7)");
+		engine.loadBankBaseline(new int[]{COINS, GRACEFUL_HOOD, RING_8});
+
+		// The untagged ring needs the full index, which is read one tab per tick on a zero budget
+		engine.onBankChanged(new int[]{COINS, GRACEFUL_HOOD, RING_7}, 3, 10);
+		engine.signalReady();
+		for (int tick = 10; tick < 20 && engine.hasPendingWork(); tick++)
+		{
+			int reads = layoutStore.getReads();
+			engine.runSync(tick, null);
+			assertTrue(layoutStore.getReads() - reads <= 1);
+		}
+
+		assertEquals(String.valueOf(RING_7), layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "jewellery"));
+		assertEquals(3, layoutStore.getReads());
+	}
+
+	@Test
+	public void testDroppedWriteIsReplanned()
+	{
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD_ARCEUUS, COINS}, 2, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+		engine.runSync(11, null);
+
+		// The layout was rearranged elsewhere before the write reached the config, so the write is dropped
+		String rearranged = COINS + "," + GRACEFUL_HOOD;
+		layoutStore.setLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear", rearranged);
+		engine.onLayoutChanged("gear", InMemoryLayoutStore.BUILT_IN_GROUP, rearranged);
+		engine.onLayoutWriteDropped("gear");
+		assertTrue(engine.hasPendingWork());
+
+		engine.runSync(12, null);
+		engine.runSync(13, null);
+		assertEquals(COINS + "," + GRACEFUL_HOOD_ARCEUUS, layoutStore.getLayout(InMemoryLayoutStore.BUILT_IN_GROUP, "gear"));
+		assertEquals(2, layoutStore.getWrites());
+	}
+
+	@Test
+	public void testItemWithoutVariantsReadsNoLayouts()
+	{
+		// Tagged, but in no variant group and not charged
+		itemNames.setName(RING_8, "Ring of testing");
+		tagStore.setTags(RING_8, "gear");
+
+		engine.onBankChanged(new int[]{GRACEFUL_HOOD, COINS, RING_8}, 3, 10);
+		engine.signalReady();
+		engine.runSync(10, null);
+		engine.runSync(11, null);
+		assertEquals(0, layoutStore.getReads());
+		assertEquals(0, layoutStore.getWrites());
+	}
+}
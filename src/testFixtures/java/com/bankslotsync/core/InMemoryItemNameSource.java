@@ -0,0 +1,23 @@
+package com.bankslotsync.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link ItemNameSource} held in a map.
+ */
+public class InMemoryItemNameSource implements ItemNameSource
+{
+	private final Map<Integer, String> names = new HashMap<>();
+
+	public void setName(int itemId, String name)
+	{
+		names.put(itemId, name);
+	}
+
+	@Override
+	public String getName(int itemId)
+	{
+		return names.get(itemId);
+	}
+}
@@ -0,0 +1,119 @@
+package com.bankslotsync.core;
+
+import com.bankslotsync.LayoutSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link LayoutStore} held in maps, laid out like the Bank Tags config: a built-in layout group,
+ * and an external layout group whose layouts take precedence.
+ */
+public class InMemoryLayoutStore implements LayoutStore
+{
+	public static final String BUILT_IN_GROUP = "banktags";
+	public static final String EXTERNAL_GROUP = "banktaglayouts";
+
+	private static final String LAYOUT_PREFIX = "layout_";
+
+	/**
+	 * Called after a layout is written, as the client's ConfigChanged event would be.
+	 */
+	public interface Listener
+	{
+		void layoutChanged(String standardizedTag, String group, String layout);
+	}
+
+	private final List<String> tagTabs = new ArrayList<>();
+
+	// Layouts by group, then by standardized tag
+	private final Map<String, Map<String, String>> layouts = new HashMap<>();
+
+	private Listener listener;
+	private int reads = 0;
+	private int writes = 0;
+
+	public void setListener(Listener listener)
+	{
+		this.listener = listener;
+	}
+
+	public void setTagTabs(List<String> tagTabs)
+	{
+		this.tagTabs.clear();
+		this.tagTabs.addAll(tagTabs);
+	}
+
+	/**
+	 * Set a tag's layout in the given group without notifying the listener.
+	 */
+	public void setLayout(String group, String standardizedTag, String layout)
+	{
+		Map<String, String> groupLayouts = layouts.computeIfAbsent(group, k -> new HashMap<>());
+		if (layout == null)
+		{
+			groupLayouts.remove(standardizedTag);
+		}
+		else
+		{
+			groupLayouts.put(standardizedTag, layout);
+		}
+	}
+
+	/**
+	 * Get a tag's layout in the given group, or null if it has none there.
+	 */
+	public String getLayout(String group, String standardizedTag)
+	{
+		return layouts.getOrDefault(group, Collections.emptyMap()).get(standardizedTag);
+	}
+
+	public int getReads()
+	{
+		return reads;
+	}
+
+	public int getWrites()
+	{
+		return writes;
+	}
+
+	@Override
+	public List<String> getTagTabs()
+	{
+		return Collections.unmodifiableList(tagTabs);
+	}
+
+	@Override
+	public String standardizeTag(String tagName)
+	{
+		return tagName.trim().toLowerCase(Locale.ROOT);
+	}
+
+	@Override
+	public LayoutSource load(String standardizedTag)
+	{
+		reads++;
+		String layout = getLayout(EXTERNAL_GROUP, standardizedTag);
+		if (layout != null && !layout.isEmpty())
+		{
+			return new LayoutSource(standardizedTag, LAYOUT_PREFIX + standardizedTag, EXTERNAL_GROUP, layout);
+		}
+		return new LayoutSource(standardizedTag, LAYOUT_PREFIX + standardizedTag, BUILT_IN_GROUP,
+			getLayout(BUILT_IN_GROUP, standardizedTag));
+	}
+
+	@Override
+	public void save(LayoutSource source, String layout)
+	{
+		writes++;
+		setLayout(source.getGroup(), source.getStandardizedTag(), layout);
+		if (listener != null)
+		{
+			listener.layoutChanged(source.getStandardizedTag(), source.getGroup(), layout);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.bankslotsync.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Notifier} that keeps every message it is sent.
+ */
+public class InMemoryNotifier implements Notifier
+{
+	private final List<String> messages = new ArrayList<>();
+
+	public List<String> getMessages()
+	{
+		return Collections.unmodifiableList(messages);
+	}
+
+	public void clear()
+	{
+		messages.clear();
+	}
+
+	@Override
+	public void send(String message)
+	{
+		messages.add(message);
+	}
+}
@@ -0,0 +1,54 @@
+package com.bankslotsync.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link TagStore} held in a map.
+ */
+public class InMemoryTagStore implements TagStore
+{
+	private final Map<Integer, String> tags = new HashMap<>();
+
+	private int writes = 0;
+
+	/**
+	 * Set or clear an item's tags as existing state, without counting a write.
+	 */
+	public void loadTags(int itemId, String tags)
+	{
+		if (tags == null)
+		{
+			this.tags.remove(itemId);
+		}
+		else
+		{
+			this.tags.put(itemId, tags);
+		}
+	}
+
+	public int getWrites()
+	{
+		return writes;
+	}
+
+	@Override
+	public String getTags(int itemId)
+	{
+		return tags.get(itemId);
+	}
+
+	@Override
+	public void setTags(int itemId, String tags)
+	{
+		writes++;
+		this.tags.put(itemId, tags);
+	}
+
+	@Override
+	public void removeTags(int itemId)
+	{
+		writes++;
+		tags.remove(itemId);
+	}
+}